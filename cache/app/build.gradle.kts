@@ -1,5 +1,6 @@
 plugins {
     java
+    alias(libs.plugins.jmh)
 }
 
 repositories {
@@ -9,6 +10,7 @@ repositories {
 dependencies {
     testImplementation(libs.junit.jupiter)
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmhImplementation(libs.jol.core)
 }
 
 java {
@@ -23,3 +25,30 @@ tasks.named<Test>("test") {
         exceptionFormat = org.gradle.api.tasks.testing.logging.TestExceptionFormat.FULL
     }
 }
+
+// benchmarks replay the synthetic traces kept with the tests
+sourceSets.jmh {
+    compileClasspath += sourceSets.test.get().output
+    runtimeClasspath += sourceSets.test.get().output
+}
+
+// ./gradlew jmh [-PjmhIncludes=CacheBenchmark]
+jmh {
+    jmhVersion = libs.versions.jmh
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
+// ./gradlew footprint
+tasks.register<JavaExec>("footprint") {
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.example.FootprintReport"
+    jvmArgs("-Djdk.attach.allowAttachSelf=true")
+}
+
+// ./gradlew simulate --args="<trace> [capacity,..] [policy,..]"
+tasks.register<JavaExec>("simulate") {
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "org.example.Simulator"
+}
@@ -0,0 +1,28 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Thread-safe instances of every cache engine, by class name.
+ * Engines that are not thread-safe themselves are guarded by a global lock.
+ * Add new engines here to make them comparable in every benchmark.
+ */
+class BenchmarkCaches {
+
+    static Map<Long, Long> create(String name, int size) {
+        return switch (name) {
+            case "FifoCache" -> Collections.synchronizedMap(new FifoCache<>(size));
+            case "LruCache" -> Collections.synchronizedMap(new LruCache<>(size));
+            case "ArcCache" -> Collections.synchronizedMap(new ArcCache<>(size));
+            case "WTinyLfuCache" -> Collections.synchronizedMap(new WTinyLfuCache<>(size));
+            case "StripedLruCache" -> new StripedLruCache<>(size);
+            case "ClockCache" -> new ClockCache<>(size);
+            case "ConcurrentLruCache" -> new ConcurrentLruCache<>(size);
+            case "ExpiringCache" -> ExpiringCache.expireAfterWrite(size, Duration.ofHours(1));
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get/put throughput of every engine in {@link BenchmarkCaches}, across read/write
+ * mixes, key distributions and thread counts. Writes to a full cache include the
+ * eviction cost; the {@code gc} profiler configured in the build reports allocation.
+ * <pre>./gradlew jmh</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int SIZE = 1 << 14;
+    private static final int MASK = (1 << 20) - 1;
+
+    @Param({ "FifoCache", "LruCache", "ArcCache", "WTinyLfuCache", "StripedLruCache", "ConcurrentLruCache", "ClockCache", "ExpiringCache" })
+    String cache;
+
+    @Param({ "100", "90", "50" })
+    int readPercent;
+
+    @Param({ "uniform", "zipf", "scan" })
+    String distribution;
+
+    private Map<Long, Long> map;
+    private Long[] keys;
+    private boolean[] reads;
+
+    @Setup
+    public void setup() {
+        map = BenchmarkCaches.create(cache, SIZE);
+        // the key space is four times the capacity
+        long[] trace = switch (distribution) {
+            case "uniform" -> new SplittableRandom(42).longs(MASK + 1, 0, SIZE * 4).toArray();
+            case "zipf" -> Traces.zipf(SIZE * 4, 0.99, MASK + 1, 42);
+            case "scan" -> Traces.loop(SIZE * 4, MASK + 1);
+            default -> throw new IllegalArgumentException(distribution);
+        };
+        // box up front so that only the cache's own allocation is measured
+        keys = new Long[trace.length];
+        for (int i = 0; i < trace.length; i++) {
+            keys[i] = trace[i];
+        }
+        var random = new SplittableRandom(7);
+        reads = new boolean[MASK + 1];
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = random.nextInt(100) < readPercent;
+        }
+        for (Long key : keys) {
+            map.put(key, key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index = ThreadLocalRandom.current().nextInt();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Long threads1(Cursor cursor) {
+        return operation(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Long threads4(Cursor cursor) {
+        return operation(cursor);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Long threads16(Cursor cursor) {
+        return operation(cursor);
+    }
+
+    private Long operation(Cursor cursor) {
+        int i = cursor.index++ & MASK;
+        Long key = keys[i];
+        return reads[i] ? map.get(key) : map.put(key, key);
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.example;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained heap size per entry of {@link LongLruCache} and {@code LruCache<Long, V>}.
+ * <pre>./gradlew footprint</pre>
+ */
+public class FootprintReport {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+        Object value = new Object();
+
+        var longLru = new LongLruCache<Object>(size);
+        var lru = new LruCache<Long, Object>(size);
+        for (long i = 0; i < size; i++) {
+            longLru.put(i * 31, value);
+            lru.put(i * 31, value);
+        }
+
+        report("LongLruCache", GraphLayout.parseInstance(longLru, value), GraphLayout.parseInstance(value), size);
+        report("LruCache<Long, V>", GraphLayout.parseInstance(lru, value), GraphLayout.parseInstance(value), size);
+    }
+
+    private static void report(String name, GraphLayout layout, GraphLayout shared, int size) {
+        long bytes = layout.totalSize() - shared.totalSize();
+        System.out.printf("%-20s %,14d bytes %,8.1f bytes/entry%n", name, bytes, (double) bytes / size);
+        System.out.println(layout.toFootprint());
+    }
+
+}
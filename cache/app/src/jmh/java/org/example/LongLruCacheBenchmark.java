@@ -0,0 +1,72 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded comparison of {@link LongLruCache} with {@code LruCache<Long, V>}.
+ * Run with {@code -prof gc} to see the boxing and entry allocation of the latter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongLruCacheBenchmark {
+
+    private static final int SIZE = 1 << 16;
+    private static final int MASK = (1 << 20) - 1;
+    private static final Object VALUE = new Object();
+
+    private final LongLruCache<Object> longLru = new LongLruCache<>(SIZE);
+    private final LruCache<Long, Object> lru = new LruCache<>(SIZE);
+    private long[] keys;
+    private int index;
+
+    @Setup
+    public void setup() {
+        // twice as many keys as entries, so that about half of the lookups miss
+        var random = new SplittableRandom(42);
+        keys = new long[MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong(SIZE * 2);
+        }
+        for (long key : keys) {
+            longLru.put(key, VALUE);
+            lru.put(key, VALUE);
+        }
+    }
+
+    @Benchmark
+    public Object longLruCache() {
+        long key = keys[index++ & MASK];
+        Object value = longLru.get(key);
+        if (value == null) {
+            longLru.put(key, VALUE);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public Object lruCache() {
+        long key = keys[index++ & MASK];
+        Object value = lru.get(key);
+        if (value == null) {
+            lru.put(key, VALUE);
+        }
+        return value;
+    }
+
+}
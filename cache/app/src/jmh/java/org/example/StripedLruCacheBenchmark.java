@@ -0,0 +1,78 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark of {@link StripedLruCache} and {@link ConcurrentLruCache}
+ * against a globally locked {@link LruCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+public class StripedLruCacheBenchmark {
+
+    private static final int SIZE = 1 << 14;
+    private static final int MASK = (1 << 16) - 1;
+
+    @Param({ "synchronized", "striped", "buffered" })
+    String cache;
+
+    private Map<Integer, Integer> map;
+    private Integer[] keys;
+
+    @Setup
+    public void setup() {
+        map = switch (cache) {
+            case "synchronized" -> Collections.synchronizedMap(new LruCache<>(SIZE));
+            case "striped" -> new StripedLruCache<>(SIZE);
+            case "buffered" -> new ConcurrentLruCache<>(SIZE);
+            default -> throw new IllegalArgumentException(cache);
+        };
+        // twice as many keys as entries, so that about half of the lookups miss
+        var random = new SplittableRandom(42);
+        keys = new Integer[MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(SIZE * 2);
+        }
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index = ThreadLocalRandom.current().nextInt();
+    }
+
+    @Benchmark
+    public Integer getOrPut(Cursor cursor) {
+        Integer key = keys[cursor.index++ & MASK];
+        Integer value = map.get(key);
+        if (value == null) {
+            map.put(key, key);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.example;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing hash index from a key hash to the address of its record.
+ * Keys themselves live off-heap, so lookups confirm a match through a predicate
+ * on the candidate address. Linear probing with backward-shift deletion.
+ */
+class AddressIndex {
+
+    static final long ABSENT = -1;
+
+    private int[] hashes;
+    private long[] addresses;
+    private int mask;
+    private int size;
+
+    AddressIndex(int expectedSize) {
+        int n = 1 << -Integer.numberOfLeadingZeros(Math.max(expectedSize * 2, 16) - 1);
+        hashes = new int[n];
+        addresses = new long[n];
+        Arrays.fill(addresses, ABSENT);
+        mask = n - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int hash, LongPredicate matches) {
+        for (int i = hash & mask; addresses[i] != ABSENT; i = (i + 1) & mask) {
+            if (hashes[i] == hash && matches.test(addresses[i])) {
+                return addresses[i];
+            }
+        }
+        return ABSENT;
+    }
+
+    /** Maps the key to the address, returning the previous address or {@link #ABSENT}. */
+    long put(int hash, long address, LongPredicate matches) {
+        int i = hash & mask;
+        for (; addresses[i] != ABSENT; i = (i + 1) & mask) {
+            if (hashes[i] == hash && matches.test(addresses[i])) {
+                long prev = addresses[i];
+                addresses[i] = address;
+                return prev;
+            }
+        }
+        hashes[i] = hash;
+        addresses[i] = address;
+        if (++size > (mask + 1) / 2) {
+            grow();
+        }
+        return ABSENT;
+    }
+
+    /** Removes the key, returning its address or {@link #ABSENT}. */
+    long remove(int hash, LongPredicate matches) {
+        for (int i = hash & mask; addresses[i] != ABSENT; i = (i + 1) & mask) {
+            if (hashes[i] == hash && matches.test(addresses[i])) {
+                long prev = addresses[i];
+                delete(i);
+                return prev;
+            }
+        }
+        return ABSENT;
+    }
+
+    /** Removes the mapping only if it still points at the given address. */
+    boolean remove(int hash, long address) {
+        return remove(hash, a -> a == address) != ABSENT;
+    }
+
+    void clear() {
+        Arrays.fill(addresses, ABSENT);
+        size = 0;
+    }
+
+    /** FNV-1a hash of serialized key bytes. */
+    static int hash(MemorySegment bytes) {
+        int h = 0x811c9dc5;
+        for (long i = 0; i < bytes.byteSize(); i++) {
+            h = (h ^ bytes.get(ValueLayout.JAVA_BYTE, i)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void delete(int i) {
+        // shift back following entries whose probe sequence passes through the hole
+        for (int j = (i + 1) & mask; addresses[j] != ABSENT; j = (j + 1) & mask) {
+            int home = hashes[j] & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                hashes[i] = hashes[j];
+                addresses[i] = addresses[j];
+                i = j;
+            }
+        }
+        addresses[i] = ABSENT;
+        size--;
+    }
+
+    private void grow() {
+        int[] oldHashes = hashes;
+        long[] oldAddresses = addresses;
+        hashes = new int[oldHashes.length * 2];
+        addresses = new long[oldAddresses.length * 2];
+        Arrays.fill(addresses, ABSENT);
+        mask = hashes.length - 1;
+        for (int i = 0; i < oldAddresses.length; i++) {
+            if (oldAddresses[i] != ABSENT) {
+                int j = oldHashes[i] & mask;
+                while (addresses[j] != ABSENT) {
+                    j = (j + 1) & mask;
+                }
+                hashes[j] = oldHashes[i];
+                addresses[j] = oldAddresses[i];
+            }
+        }
+    }
+
+}
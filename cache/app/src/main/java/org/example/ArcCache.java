@@ -0,0 +1,163 @@
+package org.example;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adaptive replacement cache (ARC).
+ * Entries seen once live in a recency list, entries seen again in a frequency list.
+ * Keys evicted from either list are remembered in a ghost list of the same kind, and
+ * a miss that hits a ghost list shifts capacity towards the list that would have
+ * kept the entry, so the balance follows the workload.
+ */
+public class ArcCache<K, V> extends AbstractMap<K, V> {
+
+    private final int size;
+    // target size of the recency list
+    private int p;
+
+    // t1 holds entries seen once, t2 entries seen at least twice, both eldest first;
+    // b1 and b2 hold the keys recently evicted from each
+    private final LinkedHashMap<K, V> t1 = new LinkedHashMap<>();
+    private final LinkedHashMap<K, V> t2 = new LinkedHashMap<>(16, 0.75f, /* ordering mode: access-order */ true);
+    private final LinkedHashSet<K> b1 = new LinkedHashSet<>();
+    private final LinkedHashSet<K> b2 = new LinkedHashSet<>();
+
+    public ArcCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = t2.get(key);
+        if (value != null || t2.containsKey(key)) {
+            return value;
+        }
+        if (t1.containsKey(key)) {
+            return promote(key);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return t1.containsKey(key) || t2.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (t2.containsKey(key)) {
+            return t2.put(key, value);
+        }
+        if (t1.containsKey(key)) {
+            V old = promote(key);
+            t2.put(key, value);
+            return old;
+        }
+        if (b1.contains(key)) {
+            // would have been a hit with a larger recency list
+            p = Math.min(size, p + Math.max(b2.size() / b1.size(), 1));
+            replace(false);
+            b1.remove(key);
+            t2.put(key, value);
+            return null;
+        }
+        if (b2.contains(key)) {
+            // would have been a hit with a larger frequency list
+            p = Math.max(0, p - Math.max(b1.size() / b2.size(), 1));
+            replace(true);
+            b2.remove(key);
+            t2.put(key, value);
+            return null;
+        }
+        if (t1.size() + b1.size() >= size) {
+            if (t1.size() < size) {
+                removeEldest(b1);
+                replace(false);
+            } else {
+                removeEldest(t1.keySet());
+            }
+        } else if (t1.size() + t2.size() + b1.size() + b2.size() >= size) {
+            if (t1.size() + t2.size() + b1.size() + b2.size() >= 2 * size) {
+                removeEldest(b2);
+            }
+            replace(false);
+        }
+        t1.put(key, value);
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        b1.remove(key);
+        b2.remove(key);
+        if (t1.containsKey(key)) {
+            return t1.remove(key);
+        }
+        return t2.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return t1.size() + t2.size();
+    }
+
+    @Override
+    public void clear() {
+        t1.clear();
+        t2.clear();
+        b1.clear();
+        b2.clear();
+        p = 0;
+    }
+
+    /**
+     * Returns a snapshot of the entries, recency list first; changes to the cache are not reflected.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> snapshot = new LinkedHashMap<>(t1);
+        snapshot.putAll(t2);
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    /** Target size of the recency list, for tests and diagnostics. */
+    int recencyTarget() {
+        return p;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V promote(Object key) {
+        V value = t1.remove(key);
+        t2.put((K) key, value);
+        return value;
+    }
+
+    // makes room for one entry, evicting from the list that is over its target
+    private void replace(boolean inB2) {
+        if (t1.size() + t2.size() < size) {
+            return;
+        }
+        if (!t1.isEmpty() && (t1.size() > p || (inB2 && t1.size() == p) || t2.isEmpty())) {
+            b1.add(removeEldest(t1.keySet()));
+        } else {
+            b2.add(removeEldest(t2.keySet()));
+        }
+    }
+
+    private static <K> K removeEldest(Set<K> set) {
+        Iterator<K> it = set.iterator();
+        K key = it.next();
+        it.remove();
+        return key;
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.example;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Hands removal notifications to an executor, with at most a fixed number in flight.
+ * @see RemovalListener#async
+ */
+class AsyncRemovalListener<K, V> implements RemovalListener<K, V> {
+
+    private final RemovalListener<K, V> listener;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    AsyncRemovalListener(RemovalListener<K, V> listener, Executor executor, int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.listener = listener;
+        this.executor = executor;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    @Override
+    public void onRemoval(K key, V value, RemovalCause cause) {
+        permits.acquireUninterruptibly();
+        try {
+            executor.execute(() -> {
+                try {
+                    listener.onRemoval(key, value, cause);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // a shut down executor must not lose the notification
+            permits.release();
+            listener.onRemoval(key, value, cause);
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+package org.example;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Shared base of {@link LruCache} and {@link FifoCache}: a {@link LinkedHashMap} bounded
+ * by entry count that records statistics and notifies a {@link RemovalListener}.
+ */
+abstract class BoundedLinkedHashMap<K, V> extends LinkedHashMap<K, V> implements Resizable {
+
+    // entries evicted at most per insertion while shrinking
+    private static final int MAX_EVICTIONS_PER_PUT = 8;
+
+    private int size;
+    private final StatsCounter statsCounter;
+    // removals are delivered once the map is consistent again, so a listener may use it
+    private final PendingRemovals<K, V> pending;
+
+    BoundedLinkedHashMap(int size, boolean accessOrder, StatsCounter statsCounter,
+            RemovalListener<K, V> removalListener) {
+        super(16, 0.75f, accessOrder);
+        this.size = size;
+        this.statsCounter = statsCounter;
+        this.pending = new PendingRemovals<>(removalListener);
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = super.get(key);
+        if (value == null) {
+            statsCounter.recordMisses(1);
+        } else {
+            statsCounter.recordHits(1);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V old = super.put(key, value);
+        if (old != null && old != value) {
+            pending.add(key, old, RemovalCause.REPLACED);
+        }
+        pending.deliver();
+        return old;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        // HashMap.putAll bypasses put, which would hide replacements
+        m.forEach(this::put);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        V old = super.putIfAbsent(key, value);
+        pending.deliver();
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        V old = super.remove(key);
+        if (old != null) {
+            pending.add((K) key, old, RemovalCause.EXPLICIT);
+        }
+        pending.deliver();
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object key, Object value) {
+        boolean removed = super.remove(key, value);
+        if (removed) {
+            pending.add((K) key, (V) value, RemovalCause.EXPLICIT);
+        }
+        pending.deliver();
+        return removed;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        V old = super.replace(key, value);
+        if (old != null && old != value) {
+            pending.add(key, old, RemovalCause.REPLACED);
+        }
+        pending.deliver();
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        boolean replaced = super.replace(key, oldValue, newValue);
+        if (replaced && oldValue != newValue) {
+            pending.add(key, oldValue, RemovalCause.REPLACED);
+        }
+        pending.deliver();
+        return replaced;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = super.computeIfAbsent(key, mappingFunction);
+        pending.deliver();
+        return value;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V value = super.computeIfPresent(key, (k, old) -> remapped(k, old, remappingFunction.apply(k, old)));
+        pending.deliver();
+        return value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V value = super.compute(key, (k, old) -> remapped(k, old, remappingFunction.apply(k, old)));
+        pending.deliver();
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        V merged = super.merge(key, value, (old, v) -> remapped(key, old, remappingFunction.apply(old, v)));
+        pending.deliver();
+        return merged;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        super.replaceAll((k, old) -> remapped(k, old, function.apply(k, old)));
+        pending.deliver();
+    }
+
+    @Override
+    public void clear() {
+        forEach((k, v) -> pending.add(k, v, RemovalCause.EXPLICIT));
+        super.clear();
+        pending.deliver();
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+        int excess = size() - size;
+        if (excess <= 0) {
+            return false;
+        }
+        if (excess == 1) {
+            statsCounter.recordEviction(1);
+            pending.add(eldest.getKey(), eldest.getValue(), RemovalCause.SIZE);
+            return true;
+        }
+        // shrunk, evict a bounded batch so that no single put pays for the whole shrink
+        Iterator<Map.Entry<K, V>> it = entrySet().iterator();
+        for (int i = Math.min(excess, MAX_EVICTIONS_PER_PUT); i > 0; i--) {
+            Map.Entry<K, V> e = it.next();
+            statsCounter.recordEviction(1);
+            pending.add(e.getKey(), e.getValue(), RemovalCause.SIZE);
+            it.remove();
+        }
+        return false;
+    }
+
+    // records the old value of a remapped entry, the map applies the new one
+    private V remapped(K key, V old, V value) {
+        if (old != null && value == null) {
+            pending.add(key, old, RemovalCause.EXPLICIT);
+        } else if (old != null && old != value) {
+            pending.add(key, old, RemovalCause.REPLACED);
+        }
+        return value;
+    }
+
+    @Override
+    public int capacity() {
+        return size;
+    }
+
+    /**
+     * Sets the maximum size. Growing takes effect at once; after shrinking, each
+     * insertion evicts a few of the excess entries until the cache fits again.
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        size = capacity;
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Saves the contents of a cache to a compact binary file, and loads them back,
+ * so that a restarted process starts warm.
+ * <p>
+ * Entries are written in the cache's iteration order, which for the
+ * {@link java.util.LinkedHashMap} based caches is eldest first; loading puts them
+ * back in the same order, so recency (or insertion) order survives the restart.
+ */
+public class CacheSnapshot {
+
+    // file layout: int magic, int version, long count, then records of
+    // int key length, int value length, key bytes, value bytes
+    private static final int MAGIC = 0x43534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER = 2 * Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Writes a snapshot, replacing the file atomically once it is complete.
+     */
+    public static <K, V> void save(Map<K, V> cache, Path path, Serializer<K> keySerializer,
+            Serializer<V> valueSerializer) throws IOException {
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            MemorySegment seg = MemorySegment.ofBuffer(buf);
+            buf.position(HEADER);
+            long count = 0;
+            for (Map.Entry<K, V> e : cache.entrySet()) {
+                int keyLength = keySerializer.size(e.getKey());
+                int valueLength = valueSerializer.size(e.getValue());
+                int length = RECORD_HEADER + keyLength + valueLength;
+                if (buf.remaining() < length) {
+                    flush(channel, buf);
+                    if (buf.capacity() < length) {
+                        // a record larger than the buffer gets a buffer of its own
+                        buf = ByteBuffer.allocateDirect(length);
+                        seg = MemorySegment.ofBuffer(buf);
+                    }
+                }
+                long offset = buf.position();
+                seg.set(ValueLayout.JAVA_INT_UNALIGNED, offset, keyLength);
+                seg.set(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES, valueLength);
+                keySerializer.write(e.getKey(), seg.asSlice(offset + RECORD_HEADER, keyLength));
+                valueSerializer.write(e.getValue(), seg.asSlice(offset + RECORD_HEADER + keyLength, valueLength));
+                buf.position(buf.position() + length);
+                count++;
+            }
+            flush(channel, buf);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.nativeOrder());
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+            channel.write(header, 0);
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Puts every entry of the snapshot into the cache, in snapshot order.
+     * @return the number of entries read
+     */
+    public static <K, V> long load(Map<K, V> cache, Path path, Serializer<K> keySerializer,
+            Serializer<V> valueSerializer) throws IOException {
+
+        try (var arena = Arena.ofConfined();
+             var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long length = channel.size();
+            if (length < HEADER) {
+                throw new IOException("not a cache snapshot: " + path);
+            }
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            if (seg.get(ValueLayout.JAVA_INT_UNALIGNED, 0) != MAGIC) {
+                throw new IOException("not a cache snapshot: " + path);
+            }
+            if (seg.get(ValueLayout.JAVA_INT_UNALIGNED, Integer.BYTES) != VERSION) {
+                throw new IOException("unsupported snapshot version: " + path);
+            }
+            long count = seg.get(ValueLayout.JAVA_LONG_UNALIGNED, 2 * Integer.BYTES);
+
+            long offset = HEADER;
+            for (long i = 0; i < count; i++) {
+                if (offset + RECORD_HEADER > length) {
+                    throw new IOException("truncated snapshot: " + path);
+                }
+                int keyLength = seg.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+                int valueLength = seg.get(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES);
+                long end = offset + RECORD_HEADER + keyLength + valueLength;
+                if (keyLength < 0 || valueLength < 0 || end > length) {
+                    throw new IOException("truncated snapshot: " + path);
+                }
+                K key = keySerializer.read(seg.asSlice(offset + RECORD_HEADER, keyLength));
+                V value = valueSerializer.read(seg.asSlice(offset + RECORD_HEADER + keyLength, valueLength));
+                cache.put(key, value);
+                offset = end;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Loads the snapshot if there is one, and saves a new one when the JVM shuts down.
+     */
+    public static <K, V> void persist(Map<K, V> cache, Path path, Serializer<K> keySerializer,
+            Serializer<V> valueSerializer) throws IOException {
+        if (Files.exists(path)) {
+            load(cache, path, keySerializer, valueSerializer);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                save(cache, path, keySerializer, valueSerializer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, "cache-snapshot"));
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
+
+}
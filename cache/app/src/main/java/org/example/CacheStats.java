@@ -0,0 +1,61 @@
+package org.example;
+
+/**
+ * Immutable snapshot of cache statistics.
+ */
+public record CacheStats(
+        long hitCount,
+        long missCount,
+        long loadSuccessCount,
+        long loadFailureCount,
+        long totalLoadTime,
+        long evictionCount,
+        long evictionWeight) {
+
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0, 0);
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double missRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+
+    public double averageLoadPenalty() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+
+    /**
+     * Returns the difference to an earlier snapshot, i.e. the activity in between.
+     */
+    public CacheStats minus(CacheStats other) {
+        return new CacheStats(
+            hitCount - other.hitCount,
+            missCount - other.missCount,
+            loadSuccessCount - other.loadSuccessCount,
+            loadFailureCount - other.loadFailureCount,
+            totalLoadTime - other.totalLoadTime,
+            evictionCount - other.evictionCount,
+            evictionWeight - other.evictionWeight);
+    }
+
+    /**
+     * Returns a one-line text dump.
+     */
+    @Override
+    public String toString() {
+        return String.format(
+            "hits=%d misses=%d hitRate=%.4f loads=%d loadFailures=%d avgLoadPenalty=%.0fns evictions=%d evictionWeight=%d",
+            hitCount, missCount, hitRate(), loadSuccessCount, loadFailureCount, averageLoadPenalty(),
+            evictionCount, evictionWeight);
+    }
+
+}
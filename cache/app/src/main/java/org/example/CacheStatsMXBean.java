@@ -0,0 +1,26 @@
+package org.example;
+
+/**
+ * JMX view of a {@link StatsCounter}, registered through {@link JmxCacheStats#register}.
+ */
+public interface CacheStatsMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    double getAverageLoadPenalty();
+
+    long getEvictionCount();
+
+    long getEvictionWeight();
+
+    String getDump();
+
+}
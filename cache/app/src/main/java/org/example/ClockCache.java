@@ -0,0 +1,185 @@
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe CLOCK (second chance) cache.
+ * Entries sit in a fixed ring of slots with a reference bit each. A hit is a
+ * lock-free hash lookup that sets the bit; writers take a lock and sweep the hand
+ * over the ring, clearing bits, until they find an unreferenced slot to reuse.
+ */
+public class ClockCache<K, V> extends AbstractMap<K, V> {
+
+    private static final VarHandle REFERENCED = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final int size;
+    private final StatsCounter statsCounter;
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final byte[] referenced;
+
+    // guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Node<K, V>[] ring;
+    private final int[] free;
+    private int freeCount;
+    private int hand;
+
+    public ClockCache(int size) {
+        this(size, StatsCounter.disabled());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(int size, StatsCounter statsCounter) {
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.statsCounter = statsCounter;
+        referenced = new byte[size];
+        ring = new Node[size];
+        free = new int[size];
+        resetFreeSlots();
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            statsCounter.recordMisses(1);
+            return null;
+        }
+        statsCounter.recordHits(1);
+        markReferenced(node.slot);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                V old = node.value;
+                node.value = value;
+                markReferenced(node.slot);
+                return old;
+            }
+            int slot = freeCount > 0 ? free[--freeCount] : evict();
+            node = new Node<>(key, value, slot);
+            ring[slot] = node;
+            // new entries start unreferenced, so one that is never read goes on the next sweep
+            REFERENCED.setOpaque(referenced, slot, (byte) 0);
+            data.put(key, node);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node == null) {
+                return null;
+            }
+            ring[node.slot] = null;
+            free[freeCount++] = node.slot;
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            data.clear();
+            Arrays.fill(ring, null);
+            resetFreeSlots();
+            hand = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the entries; changes to the cache are not reflected.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> snapshot = new HashMap<>();
+        data.forEach((k, node) -> snapshot.put(k, node.value));
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    private void markReferenced(int slot) {
+        // skip the store when the bit is already set, hot entries then stay read-only
+        if ((byte) REFERENCED.getOpaque(referenced, slot) == 0) {
+            REFERENCED.setOpaque(referenced, slot, (byte) 1);
+        }
+    }
+
+    // guarded by lock, frees the first unreferenced slot after the hand
+    private int evict() {
+        while (true) {
+            int slot = hand;
+            hand = hand + 1 == size ? 0 : hand + 1;
+            if ((byte) REFERENCED.getOpaque(referenced, slot) == 0) {
+                Node<K, V> victim = ring[slot];
+                // a reader that still holds the victim may set the bit for the next
+                // occupant, which only gives that entry one extra pass
+                data.remove(victim.key, victim);
+                statsCounter.recordEviction(1);
+                return slot;
+            }
+            REFERENCED.setOpaque(referenced, slot, (byte) 0);
+        }
+    }
+
+    // guarded by lock, hands out slots in ring order
+    private void resetFreeSlots() {
+        for (int i = 0; i < size; i++) {
+            free[i] = size - 1 - i;
+        }
+        freeCount = size;
+    }
+
+    static class Node<K, V> {
+        final K key;
+        volatile V value;
+        final int slot;
+
+        Node(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+
+}
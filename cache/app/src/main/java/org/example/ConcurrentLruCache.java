@@ -0,0 +1,268 @@
+package org.example;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe, approximately LRU cache whose hit path is a plain concurrent hash lookup.
+ * Reads are recorded into lossy striped ring buffers and replayed against the
+ * access-ordered list in batches, under a try-lock, by whichever thread fills a buffer.
+ */
+public class ConcurrentLruCache<K, V> extends AbstractMap<K, V> {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final int size;
+    private final StatsCounter statsCounter;
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final int bufferMask;
+
+    // guarded by evictionLock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Node<K, V> head = new Node<>(null, null);
+    private int linked;
+
+    public ConcurrentLruCache(int size) {
+        this(size, StatsCounter.disabled());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLruCache(int size, StatsCounter statsCounter) {
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.statsCounter = statsCounter;
+        // power of two buffers, at least one per processor
+        int n = 1 << -Integer.numberOfLeadingZeros(Runtime.getRuntime().availableProcessors() - 1);
+        readBuffers = new ReadBuffer[n];
+        for (int i = 0; i < n; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+        bufferMask = n - 1;
+        head.prev = head.next = head;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            statsCounter.recordMisses(1);
+            return null;
+        }
+        statsCounter.recordHits(1);
+        afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> node = null;
+        for (;;) {
+            // updated under the map's bin lock, so a concurrent remove or eviction either
+            // unmaps the node with the new value or leaves the key absent for putIfAbsent
+            var update = new Object() { V old; };
+            Node<K, V> prior = data.computeIfPresent(key, (k, n) -> {
+                update.old = n.value;
+                n.value = value;
+                return n;
+            });
+            if (prior != null) {
+                afterRead(prior);
+                return update.old;
+            }
+            if (node == null) {
+                node = new Node<>(key, value);
+            }
+            if (data.putIfAbsent(key, node) == null) {
+                break;
+            }
+        }
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            if (!node.retired) {
+                linkLast(node);
+                evict();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.retired = true;
+        evictionLock.lock();
+        try {
+            if (node.prev != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            while (head.next != head) {
+                Node<K, V> node = head.next;
+                unlink(node);
+                data.remove(node.key, node);
+                node.retired = true;
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the entries; changes to the cache are not reflected.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> snapshot = new HashMap<>();
+        data.forEach((k, node) -> snapshot.put(k, node.value));
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    private void afterRead(Node<K, V> node) {
+        int probe = (int) Thread.currentThread().threadId() * 0x9E3779B9;
+        ReadBuffer<K, V> buffer = readBuffers[(probe >>> 16) & bufferMask];
+        if (buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(this);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        // the node may have been removed since the read was recorded
+        if (node.prev != null) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    private void evict() {
+        while (linked > size) {
+            Node<K, V> eldest = head.next;
+            unlink(eldest);
+            data.remove(eldest.key, eldest);
+            eldest.retired = true;
+            statsCounter.recordEviction(1);
+        }
+    }
+
+    private void linkLast(Node<K, V> node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+        linked++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+        linked--;
+    }
+
+    static class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile boolean retired;
+        // guarded by evictionLock
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Multi-producer, single-consumer ring that drops records when full or contended.
+     */
+    static class ReadBuffer<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        /**
+         * Records the access and returns whether the buffer should be drained.
+         */
+        boolean offer(Node<K, V> node) {
+            long tail = writeCounter.get();
+            long size = tail - readCounter;
+            if (size >= BUFFER_SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) tail & BUFFER_MASK, node);
+                return size + 1 >= BUFFER_SIZE / 2;
+            }
+            return false;
+        }
+
+        // guarded by evictionLock
+        void drainTo(ConcurrentLruCache<K, V> cache) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) head & BUFFER_MASK;
+                Node<K, V> node = buffer.get(index);
+                if (node == null) {
+                    // slot claimed but not yet published
+                    break;
+                }
+                buffer.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            readCounter = head;
+        }
+    }
+
+}
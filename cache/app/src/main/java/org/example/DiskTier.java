@@ -0,0 +1,385 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only, memory-mapped file store used as the second tier of {@link TieredCache}.
+ * Overwritten and removed records stay in the file as garbage; once garbage exceeds
+ * half the file, live records are copied to a fresh file in the background and the
+ * files are swapped. When the file is full the oldest live records are dropped.
+ * If a background compaction fails, the next operation throws its cause wrapped in
+ * an {@link UncheckedIOException}; the tier keeps its current file and stays usable.
+ */
+public class DiskTier<K, V> implements AutoCloseable {
+
+    // record layout: int key length, int value length, key bytes, value bytes
+    private static final long HEADER = 2 * Integer.BYTES;
+
+    private final Path path;
+    private final long capacity;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final AtomicReference<IOException> compactionFailure = new AtomicReference<>();
+
+    // guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private Arena arena;
+    private FileChannel channel;
+    private MemorySegment file;
+    private AddressIndex index = new AddressIndex(1024);
+    private long position;
+    private long liveBytes;
+    private boolean closed;
+    private MemorySegment scratch = MemorySegment.ofArray(new byte[256]);
+
+    public DiskTier(Path path, long capacity, Serializer<K> keySerializer, Serializer<V> valueSerializer)
+            throws IOException {
+        this.path = path;
+        this.capacity = capacity;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.arena = Arena.ofShared();
+        this.channel = open(path);
+        this.file = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity, arena);
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            ensureOpen();
+            MemorySegment k = keyBytes(key);
+            long offset = index.get(AddressIndex.hash(k), a -> keyEquals(a, k));
+            if (offset == AddressIndex.ABSENT) {
+                return null;
+            }
+            int keyLength = file.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+            int valueLength = file.get(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES);
+            return valueSerializer.read(file.asSlice(offset + HEADER + keyLength, valueLength));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the entry, returning {@code false} if it could not be stored.
+     */
+    public boolean put(K key, V value) {
+        int keyLength = keySerializer.size(key);
+        int valueLength = valueSerializer.size(value);
+        long length = HEADER + keyLength + valueLength;
+        if (length > capacity / 4) {
+            return false;
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            if (position + length > capacity) {
+                // compact in place, unless a background compaction is already making room
+                if (!compacting.compareAndSet(false, true)) {
+                    return false;
+                }
+                try {
+                    compact(length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    compacting.set(false);
+                }
+            }
+            long offset = position;
+            file.set(ValueLayout.JAVA_INT_UNALIGNED, offset, keyLength);
+            file.set(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES, valueLength);
+            MemorySegment k = file.asSlice(offset + HEADER, keyLength);
+            keySerializer.write(key, k);
+            valueSerializer.write(value, file.asSlice(offset + HEADER + keyLength, valueLength));
+            position += length;
+            liveBytes += length;
+            long prev = index.put(AddressIndex.hash(k), offset, a -> keyEquals(a, k));
+            if (prev != AddressIndex.ABSENT) {
+                liveBytes -= recordLength(file, prev);
+                compactInBackgroundIfNeeded();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(K key) {
+        lock.lock();
+        try {
+            ensureOpen();
+            MemorySegment k = keyBytes(key);
+            long offset = index.remove(AddressIndex.hash(k), a -> keyEquals(a, k));
+            if (offset == AddressIndex.ABSENT) {
+                return false;
+            }
+            liveBytes -= recordLength(file, offset);
+            compactInBackgroundIfNeeded();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long liveBytes() {
+        lock.lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long fileBytes() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the mapping and deletes the file; the index only lives in memory.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            arena.close();
+            channel.close();
+            Files.deleteIfExists(path);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private void compactInBackgroundIfNeeded() {
+        if (position - liveBytes > capacity / 2 && compacting.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("disk-tier-compaction").start(() -> {
+                try {
+                    compact(0);
+                } catch (IOException e) {
+                    // nobody is waiting on this thread, report it to the next caller
+                    compactionFailure.set(e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Copies live records to a fresh file and swaps it in. Records below the starting
+     * position are copied holding the lock one record at a time, so readers and writers
+     * interleave; records appended meanwhile are caught up in a final locked pass.
+     * If live data exceeds three quarters of the file, minus {@code reserve}, the oldest
+     * live records are dropped.
+     */
+    void compact(long reserve) throws IOException {
+        Path target = path.resolveSibling(path.getFileName() + ".compact");
+        Arena newArena = Arena.ofShared();
+        FileChannel newChannel = null;
+        boolean swapped = false;
+        try {
+            newChannel = open(target);
+            MemorySegment newFile = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity, newArena);
+            Copier copier = new Copier(newFile);
+
+            long end;
+            lock.lock();
+            try {
+                end = position;
+                copier.skip = Math.max(0, liveBytes - (capacity * 3 / 4 - reserve));
+            } finally {
+                lock.unlock();
+            }
+
+            long offset = 0;
+            while (offset < end) {
+                lock.lock();
+                try {
+                    if (closed) {
+                        discard(newArena, newChannel, target);
+                        return;
+                    }
+                    offset += copier.copy(offset);
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            lock.lock();
+            try {
+                if (closed) {
+                    discard(newArena, newChannel, target);
+                    return;
+                }
+                while (offset < position) {
+                    offset += copier.copy(offset);
+                }
+                // only records still live by now make it into the new index
+                AddressIndex newIndex = new AddressIndex(index.size());
+                long newLiveBytes = 0;
+                for (int i = 0; i < copier.count; i++) {
+                    if (isLive(copier.from[i])) {
+                        long to = copier.to[i];
+                        int keyLength = newFile.get(ValueLayout.JAVA_INT_UNALIGNED, to);
+                        MemorySegment k = newFile.asSlice(to + HEADER, keyLength);
+                        newIndex.put(AddressIndex.hash(k), to, a -> false);
+                        newLiveBytes += recordLength(newFile, to);
+                    }
+                }
+                // until the move succeeds the old file stays in use
+                Files.move(target, path, StandardCopyOption.REPLACE_EXISTING);
+                Arena oldArena = arena;
+                FileChannel oldChannel = channel;
+                arena = newArena;
+                channel = newChannel;
+                file = newFile;
+                index = newIndex;
+                position = copier.position;
+                liveBytes = newLiveBytes;
+                swapped = true;
+                oldArena.close();
+                oldChannel.close();
+            } finally {
+                lock.unlock();
+            }
+        } catch (Throwable t) {
+            if (swapped) {
+                throw t;
+            }
+            // the old file is still in place, drop the partial copy
+            try {
+                discard(newArena, newChannel, target);
+            } catch (IOException | RuntimeException e) {
+                t.addSuppressed(e);
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * Copies live records into the new file, remembering where each one went.
+     */
+    private class Copier {
+        final MemorySegment target;
+        long position;
+        long skip;
+        long[] from = new long[1024];
+        long[] to = new long[1024];
+        int count;
+
+        Copier(MemorySegment target) {
+            this.target = target;
+        }
+
+        // guarded by lock, returns the length of the record at offset
+        long copy(long offset) {
+            long length = recordLength(file, offset);
+            if (!isLive(offset)) {
+                return length;
+            }
+            if (skip > 0) {
+                // dropped to make room, the oldest records come first
+                skip -= length;
+                return length;
+            }
+            MemorySegment.copy(file, offset, target, position, length);
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+            }
+            from[count] = offset;
+            to[count] = position;
+            count++;
+            position += length;
+            return length;
+        }
+    }
+
+    private boolean isLive(long offset) {
+        int keyLength = file.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        MemorySegment k = file.asSlice(offset + HEADER, keyLength);
+        return index.get(AddressIndex.hash(k), a -> a == offset) != AddressIndex.ABSENT;
+    }
+
+    private MemorySegment keyBytes(K key) {
+        int length = keySerializer.size(key);
+        if (scratch.byteSize() < length) {
+            scratch = MemorySegment.ofArray(new byte[Math.max(length, (int) scratch.byteSize() * 2)]);
+        }
+        MemorySegment k = scratch.asSlice(0, length);
+        keySerializer.write(key, k);
+        return k;
+    }
+
+    private boolean keyEquals(long offset, MemorySegment key) {
+        int keyLength = file.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        return keyLength == key.byteSize()
+            && MemorySegment.mismatch(file, offset + HEADER, offset + HEADER + keyLength, key, 0, keyLength) < 0;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("closed");
+        }
+        IOException failure = compactionFailure.getAndSet(null);
+        if (failure != null) {
+            throw new UncheckedIOException("background compaction failed", failure);
+        }
+    }
+
+    private static long recordLength(MemorySegment file, long offset) {
+        return HEADER
+            + file.get(ValueLayout.JAVA_INT_UNALIGNED, offset)
+            + file.get(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void discard(Arena arena, FileChannel channel, Path path) throws IOException {
+        if (arena.scope().isAlive()) {
+            arena.close();
+        }
+        // without a channel the file was never created, whatever is there is not ours
+        if (channel != null) {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+}
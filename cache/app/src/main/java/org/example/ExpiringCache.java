@@ -0,0 +1,286 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache whose entries also expire a fixed time after they were
+ * written and/or last accessed. Expiration is driven by a {@link TimerWheel}
+ * that is advanced on every operation, so expired entries never pile up.
+ * <p>
+ * Removal notifications are queued while the lock is held and delivered after it is
+ * released, so a slow or re-entrant {@link RemovalListener} cannot stall or deadlock
+ * other threads. Notifications from concurrent operations may be delivered out of order.
+ */
+public class ExpiringCache<K, V> extends AbstractMap<K, V> {
+
+    // about 146 years, keeps time arithmetic clear of overflow
+    private static final long MAXIMUM_EXPIRY = Long.MAX_VALUE >> 1;
+
+    private final int size;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final Ticker ticker;
+    private final StatsCounter statsCounter;
+
+    // guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Node<K, V>> data;
+    private final TimerWheel<Node<K, V>> timerWheel;
+    private final PendingRemovals<K, V> pendingRemovals;
+
+    /**
+     * @param expireAfterWrite  time to live after the last write, or {@code null} for none
+     * @param expireAfterAccess time to live after the last read or write, or {@code null} for none
+     */
+    public ExpiringCache(int size, Duration expireAfterWrite, Duration expireAfterAccess, Ticker ticker) {
+        this(size, expireAfterWrite, expireAfterAccess, ticker, StatsCounter.disabled());
+    }
+
+    public ExpiringCache(int size, Duration expireAfterWrite, Duration expireAfterAccess, Ticker ticker,
+            StatsCounter statsCounter) {
+        this(size, expireAfterWrite, expireAfterAccess, ticker, statsCounter, RemovalListener.disabled());
+    }
+
+    public ExpiringCache(int size, Duration expireAfterWrite, Duration expireAfterAccess, Ticker ticker,
+            StatsCounter statsCounter, RemovalListener<K, V> removalListener) {
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.expireAfterWriteNanos = expireAfterWrite == null ? MAXIMUM_EXPIRY
+            : Math.min(expireAfterWrite.toNanos(), MAXIMUM_EXPIRY);
+        this.expireAfterAccessNanos = expireAfterAccess == null ? MAXIMUM_EXPIRY
+            : Math.min(expireAfterAccess.toNanos(), MAXIMUM_EXPIRY);
+        this.ticker = ticker;
+        this.statsCounter = statsCounter;
+        this.pendingRemovals = new PendingRemovals<>(removalListener);
+        this.timerWheel = new TimerWheel<>(ticker.read());
+        this.data = new LinkedHashMap<>(16, 0.75f, /* ordering mode: access-order */ true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Node<K, V>> eldest) {
+                if (size() > ExpiringCache.this.size) {
+                    timerWheel.deschedule(eldest.getValue());
+                    statsCounter.recordEviction(1);
+                    notifyRemoval(eldest.getKey(), eldest.getValue().value, RemovalCause.SIZE);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static <K, V> ExpiringCache<K, V> expireAfterWrite(int size, Duration duration) {
+        return new ExpiringCache<>(size, duration, null, Ticker.system());
+    }
+
+    public static <K, V> ExpiringCache<K, V> expireAfterAccess(int size, Duration duration) {
+        return new ExpiringCache<>(size, null, duration, Ticker.system());
+    }
+
+    @Override
+    public V get(Object key) {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                statsCounter.recordMisses(1);
+                return null;
+            }
+            if (node.time - now <= 0) {
+                // not yet reached by the wheel
+                data.remove(key);
+                timerWheel.deschedule(node);
+                statsCounter.recordEviction(1);
+                statsCounter.recordMisses(1);
+                notifyRemoval(node.key, node.value, RemovalCause.EXPIRED);
+                return null;
+            }
+            statsCounter.recordHits(1);
+            if (expireAfterAccessNanos != MAXIMUM_EXPIRY) {
+                node.time = expirationTime(node.writeTime, now);
+                timerWheel.reschedule(node);
+            }
+            return node.value;
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            Node<K, V> node = data.get(key);
+            return node != null && node.time - now > 0;
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                boolean live = node.time - now > 0;
+                if (node.value != value) {
+                    notifyRemoval(key, node.value, live ? RemovalCause.REPLACED : RemovalCause.EXPIRED);
+                }
+                V old = live ? node.value : null;
+                node.value = value;
+                node.writeTime = now;
+                node.time = expirationTime(now, now);
+                timerWheel.reschedule(node);
+                return old;
+            }
+            node = new Node<>(key, value);
+            node.writeTime = now;
+            node.time = expirationTime(now, now);
+            timerWheel.schedule(node);
+            data.put(key, node);
+            return null;
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            Node<K, V> node = data.remove(key);
+            if (node == null) {
+                return null;
+            }
+            timerWheel.deschedule(node);
+            boolean live = node.time - now > 0;
+            notifyRemoval(node.key, node.value, live ? RemovalCause.EXPLICIT : RemovalCause.EXPIRED);
+            return live ? node.value : null;
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            expireEntries();
+            return data.size();
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            data.values().forEach(node -> {
+                timerWheel.deschedule(node);
+                notifyRemoval(node.key, node.value,
+                    node.time - now > 0 ? RemovalCause.EXPLICIT : RemovalCause.EXPIRED);
+            });
+            data.clear();
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the live entries in access order, eldest first.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            Map<K, V> snapshot = new LinkedHashMap<>();
+            data.forEach((k, node) -> {
+                if (node.time - now > 0) snapshot.put(k, node.value);
+            });
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    /**
+     * Returns the nanoseconds until the entry expires, or -1 if it is absent.
+     */
+    public long expiresInNanos(Object key) {
+        lock.lock();
+        try {
+            long now = expireEntries();
+            Node<K, V> node = data.get(key);
+            return node == null || node.time - now <= 0 ? -1 : node.time - now;
+        } finally {
+            unlockAndNotify();
+        }
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    StatsCounter statsCounter() {
+        return statsCounter;
+    }
+
+    // guarded by lock
+    private long expireEntries() {
+        long now = ticker.read();
+        timerWheel.advance(now, node -> {
+            if (data.remove(node.key, node)) {
+                statsCounter.recordEviction(1);
+                notifyRemoval(node.key, node.value, RemovalCause.EXPIRED);
+            }
+        });
+        return now;
+    }
+
+    // guarded by lock
+    private void notifyRemoval(K key, V value, RemovalCause cause) {
+        pendingRemovals.add(key, value, cause);
+    }
+
+    private void unlockAndNotify() {
+        if (pendingRemovals.isEmpty()) {
+            lock.unlock();
+            return;
+        }
+        List<PendingRemovals.Removal<K, V>> removals = pendingRemovals.drain();
+        lock.unlock();
+        pendingRemovals.deliver(removals);
+    }
+
+    private long expirationTime(long writeTime, long now) {
+        // compare durations rather than instants, nanoTime may wrap
+        return now + Math.min(writeTime + expireAfterWriteNanos - now, expireAfterAccessNanos);
+    }
+
+    static class Node<K, V> extends TimerWheel.Timer {
+        final K key;
+        V value;
+        long writeTime;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+}
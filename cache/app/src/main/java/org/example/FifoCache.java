@@ -1,20 +1,17 @@
 package org.example;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-
-public class FifoCache<K, V> extends LinkedHashMap<K, V> {
-
-    private final int size;
+public class FifoCache<K, V> extends BoundedLinkedHashMap<K, V> {
 
     public FifoCache(int size) {
-        super(16, 0.75f, /* ordering mode: insertion-order */ false);
-        this.size = size;
+        this(size, StatsCounter.disabled());
+    }
+
+    public FifoCache(int size, StatsCounter statsCounter) {
+        this(size, statsCounter, RemovalListener.disabled());
     }
 
-    @Override
-    protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
-        return size() > size;
+    public FifoCache(int size, StatsCounter statsCounter, RemovalListener<K, V> removalListener) {
+        super(size, /* ordering mode: insertion-order */ false, statsCounter, removalListener);
     }
 
 }
@@ -0,0 +1,63 @@
+package org.example;
+
+import java.util.function.Supplier;
+
+/**
+ * Tunes the capacity of a {@link Resizable} cache by hill climbing.
+ * Each call to {@link #adjust()} scores the requests since the previous call as
+ * {@code hitRate - costPerEntry * capacity}, keeps stepping the capacity in the same
+ * direction while the score improves and turns around when it gets worse. The capacity
+ * stays within {@code maxCapacity}, the memory budget expressed in entries.
+ */
+public class HillClimber {
+
+    private final Resizable cache;
+    private final Supplier<CacheStats> stats;
+    private final int maxCapacity;
+    private final int step;
+    private final double costPerEntry;
+
+    private CacheStats previous;
+    private double previousScore = Double.NaN;
+    private int direction = 1;
+
+    /**
+     * @param stats        cumulative statistics of the cache, e.g. {@code cache::stats}
+     * @param costPerEntry hit rate an entry has to be worth to be kept, e.g. {@code 0.01 / maxCapacity}
+     *                     to give up one percent of hit rate for the whole budget
+     */
+    public HillClimber(Resizable cache, Supplier<CacheStats> stats, int maxCapacity, double costPerEntry) {
+        if (maxCapacity <= 0 || costPerEntry < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.cache = cache;
+        this.stats = stats;
+        this.maxCapacity = maxCapacity;
+        this.step = Math.max(1, maxCapacity / 32);
+        this.costPerEntry = costPerEntry;
+        this.previous = stats.get();
+    }
+
+    /**
+     * Scores the window since the previous call and moves the capacity one step.
+     * @return the new capacity
+     */
+    public int adjust() {
+        CacheStats current = stats.get();
+        CacheStats window = current.minus(previous);
+        previous = current;
+        int capacity = cache.capacity();
+        if (window.requestCount() == 0) {
+            return capacity;
+        }
+        double score = window.hitRate() - costPerEntry * capacity;
+        if (score < previousScore) {
+            direction = -direction;
+        }
+        previousScore = score;
+        capacity = Math.clamp((long) capacity + (long) direction * step, step, maxCapacity);
+        cache.setCapacity(capacity);
+        return capacity;
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.example;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+public class JmxCacheStats implements CacheStatsMXBean {
+
+    private final StatsCounter counter;
+
+    public JmxCacheStats(StatsCounter counter) {
+        this.counter = counter;
+    }
+
+    /**
+     * Registers the counter with the platform MBean server as
+     * {@code org.example:type=CacheStats,name=<name>}.
+     */
+    public static ObjectName register(String name, StatsCounter counter) throws JMException {
+        ObjectName objectName = new ObjectName("org.example:type=CacheStats,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxCacheStats(counter), objectName);
+        return objectName;
+    }
+
+    @Override public long getHitCount() { return counter.snapshot().hitCount(); }
+    @Override public long getMissCount() { return counter.snapshot().missCount(); }
+    @Override public double getHitRate() { return counter.snapshot().hitRate(); }
+    @Override public long getLoadSuccessCount() { return counter.snapshot().loadSuccessCount(); }
+    @Override public long getLoadFailureCount() { return counter.snapshot().loadFailureCount(); }
+    @Override public double getAverageLoadPenalty() { return counter.snapshot().averageLoadPenalty(); }
+    @Override public long getEvictionCount() { return counter.snapshot().evictionCount(); }
+    @Override public long getEvictionWeight() { return counter.snapshot().evictionWeight(); }
+    @Override public String getDump() { return counter.snapshot().toString(); }
+
+}
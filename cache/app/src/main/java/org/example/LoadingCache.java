@@ -0,0 +1,150 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Cache that computes missing values with a loader, with at most one load in flight per key.
+ * Concurrent callers for a key that is being loaded wait on the same future, which parks
+ * rather than pins when called from a virtual thread. Entries within {@code refreshAhead}
+ * of expiring are reloaded in the background while the current value keeps being served.
+ */
+public class LoadingCache<K, V> {
+
+    // a virtual thread per refresh, shared by all instances and holding nothing to shut down
+    private static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+
+    private final ExpiringCache<K, V> cache;
+    private final Function<? super K, ? extends V> loader;
+    private final long refreshAheadNanos;
+    private final Executor executor;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public LoadingCache(ExpiringCache<K, V> cache, Function<? super K, ? extends V> loader) {
+        this(cache, loader, Duration.ZERO, VIRTUAL_THREADS);
+    }
+
+    public LoadingCache(ExpiringCache<K, V> cache, Function<? super K, ? extends V> loader,
+            Duration refreshAhead, Executor executor) {
+        this.cache = cache;
+        this.loader = loader;
+        this.refreshAheadNanos = refreshAhead.toNanos();
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the cached value, loading it if absent. Returns {@code null} if the loader does.
+     */
+    public V get(K key) {
+        V value = cache.get(key);
+        if (value == null) {
+            return load(key);
+        }
+        if (refreshAheadNanos > 0) {
+            long remaining = cache.expiresInNanos(key);
+            if (remaining >= 0 && remaining < refreshAheadNanos) {
+                refresh(key);
+            }
+        }
+        return value;
+    }
+
+    public V getIfPresent(K key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Reloads the value in the background, unless a load for the key is already in flight.
+     */
+    public CompletableFuture<V> refresh(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> prior = inFlight.putIfAbsent(key, future);
+        if (prior != null) {
+            return prior;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(loadAndPut(key));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // nothing will complete the future, release callers waiting on it
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return future;
+    }
+
+    public void invalidate(K key) {
+        cache.remove(key);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private V load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> prior = inFlight.putIfAbsent(key, future);
+        if (prior != null) {
+            return join(prior);
+        }
+        try {
+            // another caller may have finished loading between our miss and registering the future,
+            // check without counting a second miss
+            V value = cache.containsKey(key) ? cache.get(key) : null;
+            if (value == null) {
+                value = loadAndPut(key);
+            }
+            future.complete(value);
+            return value;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V loadAndPut(K key) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            cache.statsCounter().recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        cache.statsCounter().recordLoadSuccess(System.nanoTime() - start);
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+}
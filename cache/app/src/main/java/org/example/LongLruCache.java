@@ -0,0 +1,197 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * LRU cache keyed by primitive {@code long}s.
+ * Entries live in parallel arrays sized at construction, the recency list is kept
+ * as int indices into them and keys are found through an open-addressing table,
+ * so {@code get} and {@code put} never allocate.
+ */
+public class LongLruCache<V> {
+
+    private static final int NIL = -1;
+
+    private final int size;
+    private final long[] keys;
+    private final Object[] values;
+    private final int[] prev;
+    private final int[] next;
+
+    // slot -> entry index, or NIL
+    private final int[] table;
+    private final int mask;
+
+    private int count;
+    private int allocated;
+    private int free = NIL;
+    // eldest and youngest entries
+    private int head = NIL;
+    private int tail = NIL;
+
+    public LongLruCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        keys = new long[size];
+        values = new Object[size];
+        prev = new int[size];
+        next = new int[size];
+        int n = 1 << -Integer.numberOfLeadingZeros(size * 2 - 1);
+        table = new int[Math.max(n, 2)];
+        Arrays.fill(table, NIL);
+        mask = table.length - 1;
+    }
+
+    public V get(long key) {
+        int e = find(key);
+        if (e == NIL) {
+            return null;
+        }
+        moveToTail(e);
+        return value(e);
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) != NIL;
+    }
+
+    public V put(long key, V value) {
+        int e = find(key);
+        if (e != NIL) {
+            V old = value(e);
+            values[e] = value;
+            moveToTail(e);
+            return old;
+        }
+        if (count == size) {
+            // recycle the eldest entry
+            e = head;
+            delete(slotOf(keys[e]));
+            unlink(e);
+        } else {
+            e = allocate();
+            count++;
+        }
+        keys[e] = key;
+        values[e] = value;
+        linkTail(e);
+        insert(key, e);
+        return null;
+    }
+
+    public V remove(long key) {
+        int slot = slotOf(key);
+        if (slot == NIL) {
+            return null;
+        }
+        int e = table[slot];
+        V old = value(e);
+        delete(slot);
+        unlink(e);
+        values[e] = null;
+        next[e] = free;
+        free = e;
+        count--;
+        return old;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        Arrays.fill(table, NIL);
+        Arrays.fill(values, null);
+        count = allocated = 0;
+        free = head = tail = NIL;
+    }
+
+    private int allocate() {
+        if (free != NIL) {
+            int e = free;
+            free = next[e];
+            return e;
+        }
+        return allocated++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int e) {
+        return (V) values[e];
+    }
+
+    private int find(long key) {
+        int slot = slotOf(key);
+        return slot == NIL ? NIL : table[slot];
+    }
+
+    private int slotOf(long key) {
+        for (int i = hash(key) & mask; table[i] != NIL; i = (i + 1) & mask) {
+            if (keys[table[i]] == key) {
+                return i;
+            }
+        }
+        return NIL;
+    }
+
+    private void insert(long key, int e) {
+        int i = hash(key) & mask;
+        while (table[i] != NIL) {
+            i = (i + 1) & mask;
+        }
+        table[i] = e;
+    }
+
+    private void delete(int i) {
+        // backward-shift deletion keeps probe sequences intact without tombstones
+        for (int j = (i + 1) & mask; table[j] != NIL; j = (j + 1) & mask) {
+            int home = hash(keys[table[j]]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = table[j];
+                i = j;
+            }
+        }
+        table[i] = NIL;
+    }
+
+    private void moveToTail(int e) {
+        if (e != tail) {
+            unlink(e);
+            linkTail(e);
+        }
+    }
+
+    private void linkTail(int e) {
+        prev[e] = tail;
+        next[e] = NIL;
+        if (tail == NIL) {
+            head = e;
+        } else {
+            next[tail] = e;
+        }
+        tail = e;
+    }
+
+    private void unlink(int e) {
+        int p = prev[e];
+        int n = next[e];
+        if (p == NIL) {
+            head = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NIL) {
+            tail = p;
+        } else {
+            prev[n] = p;
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -1,21 +1,19 @@
 package org.example;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Set;
 
-public class LruCache <K, V> extends LinkedHashMap<K, V> {
-
-    private final int size;
+public class LruCache <K, V> extends BoundedLinkedHashMap<K, V> {
 
     public LruCache(int size) {
-        super(16, 0.75f, /* ordering mode: access-order */ true);
-        this.size = size;
+        this(size, StatsCounter.disabled());
+    }
+
+    public LruCache(int size, StatsCounter statsCounter) {
+        this(size, statsCounter, RemovalListener.disabled());
     }
 
-    @Override
-    protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
-        return size() > size;
+    public LruCache(int size, StatsCounter statsCounter, RemovalListener<K, V> removalListener) {
+        super(size, /* ordering mode: access-order */ true, statsCounter, removalListener);
     }
 
     public Set<K> keySet() {
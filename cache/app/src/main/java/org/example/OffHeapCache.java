@@ -0,0 +1,200 @@
+package org.example;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache that keeps serialized keys and values in off-heap slabs.
+ * Records are appended to the active slab; when every slab is in use the eldest
+ * slab is evicted as a whole and reused. Only the {@link AddressIndex} lives on heap.
+ */
+public class OffHeapCache<K, V> implements AutoCloseable {
+
+    // record layout: int key length, int value length, key bytes, value bytes
+    private static final long HEADER = 2 * Integer.BYTES;
+
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment[] slabs;
+    private final long[] limits;
+    private final long slabSize;
+    private final AddressIndex index = new AddressIndex(1024);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private int active;
+    private long position;
+    private MemorySegment scratch;
+
+    public OffHeapCache(long slabSize, int slabCount, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        if (slabSize <= HEADER || slabCount < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.slabSize = slabSize;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        MemorySegment memory = arena.allocate(slabSize * slabCount, Long.BYTES);
+        slabs = new MemorySegment[slabCount];
+        for (int i = 0; i < slabCount; i++) {
+            slabs[i] = memory.asSlice(i * slabSize, slabSize);
+        }
+        limits = new long[slabCount];
+        scratch = arena.allocate(256);
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            MemorySegment k = keyBytes(key);
+            long address = index.get(AddressIndex.hash(k), a -> keyEquals(a, k));
+            if (address == AddressIndex.ABSENT) {
+                return null;
+            }
+            MemorySegment slab = slabs[slabOf(address)];
+            long offset = offsetOf(address);
+            int keyLength = slab.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+            int valueLength = slab.get(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES);
+            return valueSerializer.read(slab.asSlice(offset + HEADER + keyLength, valueLength));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean containsKey(K key) {
+        lock.lock();
+        try {
+            MemorySegment k = keyBytes(key);
+            return index.get(AddressIndex.hash(k), a -> keyEquals(a, k)) != AddressIndex.ABSENT;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        int keyLength = keySerializer.size(key);
+        int valueLength = valueSerializer.size(value);
+        long length = HEADER + keyLength + valueLength;
+        if (length > slabSize) {
+            throw new IllegalArgumentException("record of " + length + " bytes exceeds the slab size");
+        }
+        lock.lock();
+        try {
+            if (position + length > slabSize) {
+                nextSlab();
+            }
+            MemorySegment slab = slabs[active];
+            long offset = position;
+            slab.set(ValueLayout.JAVA_INT_UNALIGNED, offset, keyLength);
+            slab.set(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES, valueLength);
+            MemorySegment k = slab.asSlice(offset + HEADER, keyLength);
+            keySerializer.write(key, k);
+            valueSerializer.write(value, slab.asSlice(offset + HEADER + keyLength, valueLength));
+            position += length;
+            limits[active] = position;
+            // the superseded record stays in its slab as garbage until that slab is evicted
+            index.put(AddressIndex.hash(k), addressOf(active, offset), a -> keyEquals(a, k));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean remove(K key) {
+        lock.lock();
+        try {
+            MemorySegment k = keyBytes(key);
+            return index.remove(AddressIndex.hash(k), a -> keyEquals(a, k)) != AddressIndex.ABSENT;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            Arrays.fill(limits, 0);
+            active = 0;
+            position = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the off-heap memory. The cache must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            arena.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void nextSlab() {
+        active = (active + 1) % slabs.length;
+        position = 0;
+        if (limits[active] > 0) {
+            evictSlab(active);
+        }
+    }
+
+    private void evictSlab(int s) {
+        MemorySegment slab = slabs[s];
+        for (long offset = 0; offset < limits[s]; ) {
+            int keyLength = slab.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+            int valueLength = slab.get(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES);
+            MemorySegment k = slab.asSlice(offset + HEADER, keyLength);
+            // only drop the mapping if it still points at this record
+            index.remove(AddressIndex.hash(k), addressOf(s, offset));
+            offset += HEADER + keyLength + valueLength;
+        }
+        limits[s] = 0;
+    }
+
+    private MemorySegment keyBytes(K key) {
+        int length = keySerializer.size(key);
+        if (scratch.byteSize() < length) {
+            scratch = arena.allocate(Math.max(length, scratch.byteSize() * 2));
+        }
+        MemorySegment k = scratch.asSlice(0, length);
+        keySerializer.write(key, k);
+        return k;
+    }
+
+    private boolean keyEquals(long address, MemorySegment key) {
+        MemorySegment slab = slabs[slabOf(address)];
+        long offset = offsetOf(address);
+        int keyLength = slab.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        return keyLength == key.byteSize()
+            && MemorySegment.mismatch(slab, offset + HEADER, offset + HEADER + keyLength, key, 0, keyLength) < 0;
+    }
+
+    private long addressOf(int slab, long offset) {
+        return slab * slabSize + offset;
+    }
+
+    private int slabOf(long address) {
+        return (int) (address / slabSize);
+    }
+
+    private long offsetOf(long address) {
+        return address % slabSize;
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removal notifications collected while a cache is being changed, to be delivered
+ * once the change is complete and any lock is released, so that a listener may
+ * call back into the cache. Not thread-safe, guarded by the owning cache.
+ */
+class PendingRemovals<K, V> {
+
+    private final RemovalListener<K, V> listener;
+    private final List<Removal<K, V>> removals = new ArrayList<>();
+
+    PendingRemovals(RemovalListener<K, V> listener) {
+        this.listener = listener;
+    }
+
+    void add(K key, V value, RemovalCause cause) {
+        if (listener != RemovalListener.<K, V>disabled()) {
+            removals.add(new Removal<>(key, value, cause));
+        }
+    }
+
+    boolean isEmpty() {
+        return removals.isEmpty();
+    }
+
+    /**
+     * Takes the collected notifications, leaving none pending.
+     */
+    List<Removal<K, V>> drain() {
+        List<Removal<K, V>> drained = new ArrayList<>(removals);
+        removals.clear();
+        return drained;
+    }
+
+    void deliver(List<Removal<K, V>> drained) {
+        drained.forEach(r -> listener.onRemoval(r.key(), r.value(), r.cause()));
+    }
+
+    /**
+     * Delivers the pending notifications, for caches that hold no lock of their own.
+     */
+    void deliver() {
+        if (!removals.isEmpty()) {
+            deliver(drain());
+        }
+    }
+
+    record Removal<K, V>(K key, V value, RemovalCause cause) {
+    }
+
+}
@@ -0,0 +1,272 @@
+package org.example;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe LRU cache that can hold its keys weakly and its values weakly or softly,
+ * so that the garbage collector may reclaim entries, soft values under memory pressure.
+ * <p>
+ * Collected entries are removed by draining a {@link ReferenceQueue} at the start of
+ * every operation, so dead entries never pile up. An entry the collector has cleared but
+ * not yet enqueued is still counted by {@link #size()} and {@link #containsKey}.
+ * Weak keys are compared by identity.
+ */
+public class ReferenceCache<K, V> extends AbstractMap<K, V> {
+
+    public enum Strength { STRONG, WEAK, SOFT }
+
+    private final int size;
+    private final Strength keyStrength;
+    private final Strength valueStrength;
+
+    // guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    // keys are K, or a WeakKey when keys are weak
+    private final LinkedHashMap<Object, ValueReference<V>> data;
+
+    public ReferenceCache(int size, Strength keyStrength, Strength valueStrength) {
+        if (size <= 0 || keyStrength == Strength.SOFT) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.keyStrength = keyStrength;
+        this.valueStrength = valueStrength;
+        this.data = new LinkedHashMap<>(16, 0.75f, /* ordering mode: access-order */ true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, ValueReference<V>> eldest) {
+                return size() > ReferenceCache.this.size;
+            }
+        };
+    }
+
+    public static <K, V> ReferenceCache<K, V> weakKeys(int size) {
+        return new ReferenceCache<>(size, Strength.WEAK, Strength.STRONG);
+    }
+
+    public static <K, V> ReferenceCache<K, V> softValues(int size) {
+        return new ReferenceCache<>(size, Strength.STRONG, Strength.SOFT);
+    }
+
+    @Override
+    public V get(Object key) {
+        lock.lock();
+        try {
+            drainReferenceQueue();
+            Object lookup = lookupKey(key);
+            ValueReference<V> ref = data.get(lookup);
+            if (ref == null) {
+                return null;
+            }
+            V value = ref.get();
+            if (value == null) {
+                // cleared but not enqueued yet
+                data.remove(lookup);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        lock.lock();
+        try {
+            drainReferenceQueue();
+            // unlike get, does not move the entry in access order
+            return data.containsKey(lookupKey(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        lock.lock();
+        try {
+            drainReferenceQueue();
+            Object mapKey = keyStrength == Strength.WEAK ? new WeakKey(key, queue) : key;
+            ValueReference<V> old = data.put(mapKey, valueReference(mapKey, value));
+            return old == null ? null : old.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        lock.lock();
+        try {
+            drainReferenceQueue();
+            ValueReference<V> old = data.remove(lookupKey(key));
+            return old == null ? null : old.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            drainReferenceQueue();
+            return data.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            data.clear();
+            drainReferenceQueue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the live entries in access order, eldest first.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<K, V>> entrySet() {
+        lock.lock();
+        try {
+            drainReferenceQueue();
+            Map<K, V> snapshot = new LinkedHashMap<>();
+            data.forEach((mapKey, ref) -> {
+                Object key = mapKey instanceof WeakKey weak ? weak.get() : mapKey;
+                V value = ref.get();
+                if (key != null && value != null) {
+                    snapshot.put((K) key, value);
+                }
+            });
+            return Collections.unmodifiableMap(snapshot).entrySet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private void drainReferenceQueue() {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null) {
+            if (ref instanceof WeakKey) {
+                data.remove(ref);
+            } else {
+                ValueReference<?> value = (ValueReference<?>) ref;
+                // only if the key has not been mapped to a new value since
+                data.remove(value.mapKey(), value);
+            }
+        }
+    }
+
+    private Object lookupKey(Object key) {
+        return keyStrength == Strength.WEAK ? new LookupKey(key) : key;
+    }
+
+    private ValueReference<V> valueReference(Object mapKey, V value) {
+        return switch (valueStrength) {
+            case STRONG -> new StrongValue<>(mapKey, value);
+            case WEAK -> new WeakValue<>(mapKey, value, queue);
+            case SOFT -> new SoftValue<>(mapKey, value, queue);
+        };
+    }
+
+    interface ValueReference<V> {
+        V get();
+
+        Object mapKey();
+    }
+
+    record StrongValue<V>(Object mapKey, V get) implements ValueReference<V> {
+    }
+
+    static class WeakValue<V> extends WeakReference<V> implements ValueReference<V> {
+        private final Object mapKey;
+
+        WeakValue(Object mapKey, V value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.mapKey = mapKey;
+        }
+
+        @Override
+        public Object mapKey() {
+            return mapKey;
+        }
+    }
+
+    static class SoftValue<V> extends SoftReference<V> implements ValueReference<V> {
+        private final Object mapKey;
+
+        SoftValue(Object mapKey, V value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.mapKey = mapKey;
+        }
+
+        @Override
+        public Object mapKey() {
+            return mapKey;
+        }
+    }
+
+    /**
+     * Weakly held key, equal to another key reference to the same object.
+     * Once cleared it is only equal to itself, which is how the drain finds it.
+     */
+    static class WeakKey extends WeakReference<Object> {
+        private final int hash;
+
+        WeakKey(Object key, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            Object key = get();
+            return key != null && (o instanceof WeakKey w ? w.get() == key : o instanceof LookupKey l && l.key == key);
+        }
+    }
+
+    /**
+     * Strongly held stand-in used to look up weak keys, so that a lookup allocates this
+     * small record rather than a {@link WeakKey} that would be enqueued once collected.
+     */
+    record LookupKey(Object key) {
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakKey w ? w.get() == key : o instanceof LookupKey l && l.key == key;
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.example;
+
+/**
+ * Why an entry left a cache.
+ */
+public enum RemovalCause {
+
+    /** Removed or cleared by the caller. */
+    EXPLICIT,
+
+    /** Its value was overwritten by a put. */
+    REPLACED,
+
+    /** Evicted to stay within the cache's size. */
+    SIZE,
+
+    /** Its time to live ran out. */
+    EXPIRED;
+
+    /** Whether the cache removed the entry on its own, rather than the caller. */
+    public boolean wasEvicted() {
+        return this == SIZE || this == EXPIRED;
+    }
+
+}
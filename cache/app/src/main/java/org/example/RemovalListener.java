@@ -0,0 +1,36 @@
+package org.example;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Notified when an entry leaves a cache. Caches call the listener on the thread
+ * that removed the entry, once the change is complete and any lock of their own is
+ * released, so a listener may call back into the cache. Anything slow should be wrapped with {@link #async}.
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+    void onRemoval(K key, V value, RemovalCause cause);
+
+    static <K, V> RemovalListener<K, V> disabled() {
+        @SuppressWarnings("unchecked")
+        RemovalListener<K, V> disabled = (RemovalListener<K, V>) DisabledRemovalListener.INSTANCE;
+        return disabled;
+    }
+
+    /**
+     * Runs the listener on the executor. Once {@code maxPending} notifications are
+     * queued or running, the removing thread waits for one to finish, so a slow
+     * listener slows writers down instead of piling up notifications. The listener
+     * must not wait on the thread that removed the entry, or both may block for good.
+     */
+    static <K, V> RemovalListener<K, V> async(RemovalListener<K, V> listener, Executor executor, int maxPending) {
+        return new AsyncRemovalListener<>(listener, executor, maxPending);
+    }
+
+    enum DisabledRemovalListener implements RemovalListener<Object, Object> {
+        INSTANCE;
+        @Override public void onRemoval(Object key, Object value, RemovalCause cause) { }
+    }
+
+}
@@ -0,0 +1,15 @@
+package org.example;
+
+/**
+ * Cache whose maximum size can be changed while it is in use.
+ */
+public interface Resizable {
+
+    int capacity();
+
+    /**
+     * Sets the maximum size. Shrinking may evict the excess gradually rather than at once.
+     */
+    void setCapacity(int capacity);
+
+}
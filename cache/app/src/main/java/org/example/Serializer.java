@@ -0,0 +1,46 @@
+package org.example;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes values into, and reads them back from, off-heap memory.
+ */
+public interface Serializer<T> {
+
+    /** Returns the number of bytes {@link #write} needs for the value. */
+    int size(T value);
+
+    /** Writes the value into the segment, which is exactly {@link #size} bytes long. */
+    void write(T value, MemorySegment segment);
+
+    T read(MemorySegment segment);
+
+    Serializer<byte[]> BYTES = new Serializer<>() {
+        @Override public int size(byte[] value) { return value.length; }
+        @Override public void write(byte[] value, MemorySegment segment) {
+            MemorySegment.copy(value, 0, segment, ValueLayout.JAVA_BYTE, 0, value.length);
+        }
+        @Override public byte[] read(MemorySegment segment) { return segment.toArray(ValueLayout.JAVA_BYTE); }
+    };
+
+    Serializer<String> STRING = new Serializer<>() {
+        @Override public int size(String value) { return value.getBytes(StandardCharsets.UTF_8).length; }
+        @Override public void write(String value, MemorySegment segment) {
+            BYTES.write(value.getBytes(StandardCharsets.UTF_8), segment);
+        }
+        @Override public String read(MemorySegment segment) {
+            return new String(BYTES.read(segment), StandardCharsets.UTF_8);
+        }
+    };
+
+    Serializer<Long> LONG = new Serializer<>() {
+        @Override public int size(Long value) { return Long.BYTES; }
+        @Override public void write(Long value, MemorySegment segment) {
+            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, 0, value);
+        }
+        @Override public Long read(MemorySegment segment) { return segment.get(ValueLayout.JAVA_LONG_UNALIGNED, 0); }
+    };
+
+}
@@ -0,0 +1,165 @@
+package org.example;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+/**
+ * Replays a key trace against several policies and capacities and prints hit-ratio curves.
+ * <p>
+ * The trace is memory-mapped. A {@code .bin} file is a sequence of little-endian longs;
+ * anything else is read as text with one key per line, each line hashed to a long.
+ * <pre>
+ * Simulator &lt;trace&gt; [capacity,..] [policy,..]
+ * </pre>
+ */
+public class Simulator {
+
+    static final ValueLayout.OfLong KEY = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    static final List<String> POLICIES = List.of("fifo", "clock", "lru", "arc", "w-tinylfu");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("usage: Simulator <trace> [capacity,..] [policy,..]");
+            return;
+        }
+        Path trace = Path.of(args[0]);
+        int[] capacities = args.length > 1
+            ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray()
+            : new int[] { 1_000, 2_000, 4_000, 8_000, 16_000, 32_000, 64_000 };
+        List<String> policies = args.length > 2 ? List.of(args[2].split(",")) : POLICIES;
+
+        long start = System.currentTimeMillis();
+        List<Result> results = simulate(trace, policies, capacities);
+        print(results, policies, capacities);
+        System.out.printf("%nsimulated in %,d ms%n", System.currentTimeMillis() - start);
+    }
+
+    record Result(String policy, int capacity, long hits, long requests) {
+        double hitRatio() {
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * Runs each policy at each capacity over the trace, one task per pair, in parallel.
+     */
+    static List<Result> simulate(Path trace, List<String> policies, int[] capacities) throws IOException {
+        boolean binary = trace.getFileName().toString().endsWith(".bin");
+        try (var arena = Arena.ofShared(); // tasks read the mapping concurrently
+             var channel = FileChannel.open(trace, StandardOpenOption.READ);
+             var executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+
+            List<Future<Result>> futures = new ArrayList<>();
+            for (String policy : policies) {
+                for (int capacity : capacities) {
+                    futures.add(executor.submit(() -> {
+                        Map<Long, Long> cache = policy(policy, capacity);
+                        long[] counts = new long[2];
+                        forEachKey(seg, binary, key -> {
+                            counts[1]++;
+                            if (cache.get(key) != null) {
+                                counts[0]++;
+                            } else {
+                                cache.put(key, key);
+                            }
+                        });
+                        return new Result(policy, capacity, counts[0], counts[1]);
+                    }));
+                }
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    static Map<Long, Long> policy(String name, int capacity) {
+        return switch (name) {
+            case "fifo" -> new FifoCache<>(capacity);
+            case "clock" -> new ClockCache<>(capacity);
+            case "lru" -> new LruCache<>(capacity);
+            case "arc" -> new ArcCache<>(capacity);
+            case "w-tinylfu" -> new WTinyLfuCache<>(capacity);
+            default -> throw new IllegalArgumentException("unknown policy " + name);
+        };
+    }
+
+    static void forEachKey(MemorySegment seg, boolean binary, LongConsumer consumer) {
+        long length = seg.byteSize();
+        if (binary) {
+            for (long i = 0; i + Long.BYTES <= length; i += Long.BYTES) {
+                consumer.accept(seg.get(KEY, i));
+            }
+            return;
+        }
+        // FNV-1a over each line, skipping empty lines and a trailing '\r'
+        long hash = 0xcbf29ce484222325L;
+        boolean empty = true;
+        for (long i = 0; i < length; i++) {
+            byte b = seg.get(ValueLayout.JAVA_BYTE, i);
+            if (b == '\n') {
+                if (!empty) consumer.accept(hash);
+                hash = 0xcbf29ce484222325L;
+                empty = true;
+            } else if (b != '\r') {
+                hash = (hash ^ b) * 0x100000001b3L;
+                empty = false;
+            }
+        }
+        if (!empty) consumer.accept(hash);
+    }
+
+    /**
+     * Writes keys in the binary trace format, e.g. from the test {@code Traces} generators.
+     */
+    static void writeTrace(Path path, long[] keys) throws IOException {
+        try (var arena = Arena.ofConfined();
+             var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) keys.length * Long.BYTES, arena);
+            for (int i = 0; i < keys.length; i++) {
+                seg.set(KEY, (long) i * Long.BYTES, keys[i]);
+            }
+        }
+    }
+
+    private static void print(List<Result> results, List<String> policies, int[] capacities) {
+        System.out.printf("%n%12s", "capacity");
+        policies.forEach(p -> System.out.printf("%12s", p));
+        System.out.println();
+        for (int capacity : capacities) {
+            System.out.printf("%,12d", capacity);
+            for (String policy : policies) {
+                results.stream()
+                    .filter(r -> r.policy().equals(policy) && r.capacity() == capacity)
+                    .forEach(r -> System.out.printf("%11.2f%%", r.hitRatio() * 100));
+            }
+            System.out.println();
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.example;
+
+/**
+ * Records cache events. The {@link #disabled()} counter does nothing, so a cache
+ * built without statistics pays only for an empty, inlinable call.
+ */
+public interface StatsCounter {
+
+    void recordHits(int count);
+
+    void recordMisses(int count);
+
+    void recordLoadSuccess(long loadTimeNanos);
+
+    void recordLoadFailure(long loadTimeNanos);
+
+    void recordEviction(long weight);
+
+    CacheStats snapshot();
+
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+
+    static StatsCounter concurrent() {
+        return new ConcurrentStatsCounter();
+    }
+
+    enum DisabledStatsCounter implements StatsCounter {
+        INSTANCE;
+        @Override public void recordHits(int count) { }
+        @Override public void recordMisses(int count) { }
+        @Override public void recordLoadSuccess(long loadTimeNanos) { }
+        @Override public void recordLoadFailure(long loadTimeNanos) { }
+        @Override public void recordEviction(long weight) { }
+        @Override public CacheStats snapshot() { return CacheStats.EMPTY; }
+    }
+
+}
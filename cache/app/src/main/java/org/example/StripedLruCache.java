@@ -0,0 +1,258 @@
+package org.example;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Thread-safe LRU cache that splits the keyspace into independently locked segments.
+ * Each segment is an access-ordered list with its own share of the capacity,
+ * so eviction is LRU per segment rather than across the whole cache.
+ */
+public class StripedLruCache<K, V> extends AbstractMap<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    public StripedLruCache(int size) {
+        this(size, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int size, int concurrencyLevel) {
+        if (size <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException();
+        }
+        // power of two segments, never more segments than entries
+        int n = Integer.highestOneBit(Math.min(size, concurrencyLevel));
+        segments = new Segment[n];
+        for (int i = 0; i < n; i++) {
+            // spread the remainder so that the shares add up to size
+            segments[i] = new Segment<>(size / n + (i < size % n ? 1 : 0));
+        }
+        mask = n - 1;
+    }
+
+    @Override
+    public V get(Object key) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.get(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.containsKey(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.put(key, value);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached values for the keys that are present. Keys are grouped by
+     * segment so that each segment lock is taken once per batch.
+     */
+    public Map<K, V> getAll(Iterable<? extends K> keys) {
+        Map<K, V> result = new HashMap<>();
+        List<K>[] batches = partition(keys, Function.identity());
+        for (int i = 0; i < batches.length; i++) {
+            if (batches[i] == null) {
+                continue;
+            }
+            Segment<K, V> s = segments[i];
+            s.lock.lock();
+            try {
+                for (K key : batches[i]) {
+                    V value = s.get(key);
+                    if (value != null) {
+                        result.put(key, value);
+                    }
+                }
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values for the keys, fetching all the missing ones with a single
+     * call to the loader and caching what it returns.
+     */
+    public Map<K, V> getAll(Iterable<? extends K> keys, Function<? super Set<K>, ? extends Map<K, V>> loader) {
+        Map<K, V> result = getAll(keys);
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (!result.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = new HashMap<>(loader.apply(Collections.unmodifiableSet(missing)));
+            loaded.values().removeIf(Objects::isNull);
+            putAll(loaded);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * Takes each segment lock once per batch and evicts once, after all of the
+     * segment's entries are in.
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        // entries, not keys: LruCache has no keySet, and get would reorder an access-ordered map
+        List<Map.Entry<? extends K, ? extends V>>[] batches = partition(m.entrySet(), Map.Entry::getKey);
+        for (int i = 0; i < batches.length; i++) {
+            if (batches[i] == null) {
+                continue;
+            }
+            Segment<K, V> s = segments[i];
+            s.lock.lock();
+            try {
+                s.deferEviction = true;
+                for (Map.Entry<? extends K, ? extends V> e : batches[i]) {
+                    s.put(e.getKey(), e.getValue());
+                }
+            } finally {
+                s.deferEviction = false;
+                s.trim();
+                s.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        Segment<K, V> s = segmentFor(key);
+        s.lock.lock();
+        try {
+            return s.remove(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> s : segments) {
+            s.lock.lock();
+            try {
+                size += s.size();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> s : segments) {
+            s.lock.lock();
+            try {
+                s.clear();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the entries; changes to the cache are not reflected.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> snapshot = new HashMap<>();
+        for (Segment<K, V> s : segments) {
+            s.lock.lock();
+            try {
+                snapshot.putAll(s);
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        return segments[indexFor(key)];
+    }
+
+    private int indexFor(Object key) {
+        // use the high bits, the low bits select the bucket inside the segment
+        int h = Objects.hashCode(key) * 0x9E3779B9;
+        return (h >>> 16) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T>[] partition(Iterable<? extends T> items, Function<? super T, ?> keyOf) {
+        List<T>[] batches = new List[segments.length];
+        for (T item : items) {
+            int i = indexFor(keyOf.apply(item));
+            if (batches[i] == null) {
+                batches[i] = new ArrayList<>();
+            }
+            batches[i].add(item);
+        }
+        return batches;
+    }
+
+    static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private final int size;
+        private final ReentrantLock lock = new ReentrantLock();
+        // guarded by lock, set while a batch is being put
+        private boolean deferEviction;
+
+        Segment(int size) {
+            super(16, 0.75f, /* ordering mode: access-order */ true);
+            this.size = size;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return !deferEviction && size() > size;
+        }
+
+        // removes the eldest entries until the segment is back within its share
+        void trim() {
+            Iterator<K> it = keySet().iterator();
+            for (int excess = size() - size; excess > 0; excess--) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+}
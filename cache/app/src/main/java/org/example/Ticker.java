@@ -0,0 +1,15 @@
+package org.example;
+
+/**
+ * Source of nanosecond time, injectable so that expiry can be tested without sleeping.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    long read();
+
+    static Ticker system() {
+        return System::nanoTime;
+    }
+
+}
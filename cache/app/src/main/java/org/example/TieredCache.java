@@ -0,0 +1,112 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Two-level cache: an on-heap {@link LruCache} in front of a {@link DiskTier}.
+ * Entries evicted from the heap tier are demoted to disk instead of being dropped,
+ * and a disk hit promotes the entry back into the heap tier. An entry the disk tier
+ * refuses or fails to write, for example because it is too large or the file is full
+ * while a compaction is running, is dropped and counted by {@link #droppedCount()}.
+ */
+public class TieredCache<K, V> implements AutoCloseable {
+
+    // guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LruCache<K, V> heap;
+    private final DiskTier<K, V> disk;
+    private long dropped;
+
+    public TieredCache(int heapSize, DiskTier<K, V> disk) {
+        this.disk = disk;
+        this.heap = new LruCache<>(heapSize) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (super.removeEldestEntry(eldest)) {
+                    try {
+                        if (!disk.put(eldest.getKey(), eldest.getValue())) {
+                            dropped++;
+                        }
+                    } catch (UncheckedIOException e) {
+                        // the heap put is half done, the entry can only be dropped
+                        dropped++;
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            V value = heap.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = disk.get(key);
+            if (value != null) {
+                disk.remove(key);
+                heap.put(key, value);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            disk.remove(key);
+            heap.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            heap.remove(key);
+            disk.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int heapSize() {
+        lock.lock();
+        try {
+            return heap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int diskSize() {
+        return disk.size();
+    }
+
+    /**
+     * Returns the number of entries evicted from the heap tier that could not be demoted.
+     */
+    public long droppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        disk.close();
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 Ben Manes. All Rights Reserved.
+ *
+ * Derived from Caffeine's com.github.benmanes.caffeine.cache.TimerWheel (https://github.com/ben-manes/caffeine), modified.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel.
+ * Each level covers a coarser span of time; as time advances, the buckets that
+ * have been passed are emptied and their timers either expire or cascade down
+ * to a finer level. Scheduling and descheduling are O(1).
+ */
+class TimerWheel<T extends TimerWheel.Timer> {
+
+    static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+    static final long[] SPANS = {
+        ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)), // 1.07s
+        ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)), // 1.14m
+        ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),   // 1.22h
+        ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),    // 1.63d
+        BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5d
+        BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)), // 6.5d
+    };
+    static final long[] SHIFT = {
+        Long.numberOfTrailingZeros(SPANS[0]),
+        Long.numberOfTrailingZeros(SPANS[1]),
+        Long.numberOfTrailingZeros(SPANS[2]),
+        Long.numberOfTrailingZeros(SPANS[3]),
+        Long.numberOfTrailingZeros(SPANS[4]),
+    };
+
+    private final Timer[][] wheel;
+    private long nanos;
+
+    TimerWheel(long nanos) {
+        this.nanos = nanos;
+        wheel = new Timer[BUCKETS.length][];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Timer[BUCKETS[i]];
+            for (int j = 0; j < wheel[i].length; j++) {
+                Timer sentinel = new Timer();
+                sentinel.prev = sentinel.next = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time, passing every timer that is due to {@code onExpire}.
+     */
+    @SuppressWarnings("unchecked")
+    void advance(long currentTimeNanos, Consumer<? super T> onExpire) {
+        long previousTimeNanos = nanos;
+        nanos = currentTimeNanos;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousTimeNanos >>> SHIFT[i];
+            long currentTicks = currentTimeNanos >>> SHIFT[i];
+            if (currentTicks - previousTicks <= 0L) {
+                break;
+            }
+            Timer[] timerWheel = wheel[i];
+            int mask = timerWheel.length - 1;
+            // a full revolution visits every bucket once
+            long steps = Math.min(1 + currentTicks - previousTicks, timerWheel.length);
+            long start = previousTicks & mask;
+            for (long j = start; j < start + steps; j++) {
+                Timer sentinel = timerWheel[(int) (j & mask)];
+                Timer node = sentinel.next;
+                sentinel.prev = sentinel.next = sentinel;
+                while (node != sentinel) {
+                    Timer next = node.next;
+                    node.prev = node.next = null;
+                    if (node.time - nanos > 0) {
+                        schedule((T) node);
+                    } else {
+                        onExpire.accept((T) node);
+                    }
+                    node = next;
+                }
+            }
+        }
+    }
+
+    void schedule(T timer) {
+        Timer sentinel = findBucket(timer.time);
+        timer.next = sentinel;
+        timer.prev = sentinel.prev;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+    }
+
+    void reschedule(T timer) {
+        deschedule(timer);
+        schedule(timer);
+    }
+
+    void deschedule(T timer) {
+        if (timer.next != null) {
+            timer.prev.next = timer.next;
+            timer.next.prev = timer.prev;
+            timer.prev = timer.next = null;
+        }
+    }
+
+    private Timer findBucket(long time) {
+        long duration = time - nanos;
+        int length = wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                return wheel[i][(int) ticks & (wheel[i].length - 1)];
+            }
+        }
+        return wheel[length][0];
+    }
+
+    private static long ceilingPowerOfTwo(long x) {
+        return 1L << -Long.numberOfLeadingZeros(x - 1);
+    }
+
+    static class Timer {
+        // expiration time in nanoseconds
+        long time;
+        Timer prev;
+        Timer next;
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.example;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Window TinyLFU cache.
+ * New entries enter a small LRU window; entries leaving the window compete with the
+ * main region's victim and are only admitted if the frequency sketch estimates them
+ * to be more popular. The main region is a segmented LRU of probation and protected.
+ */
+public class WTinyLfuCache<K, V> extends AbstractMap<K, V> {
+
+    private final int size;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final FrequencySketch sketch;
+    private final Queue<K, V> window = new Queue<>();
+    private final Queue<K, V> probation = new Queue<>();
+    private final Queue<K, V> protect = new Queue<>();
+
+    public WTinyLfuCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.maxWindow = Math.max(1, size / 100);
+        this.maxProtected = (int) ((size - maxWindow) * 0.8);
+        this.sketch = new FrequencySketch(size);
+    }
+
+    @Override
+    public V get(Object key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        onHit(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            V old = node.value;
+            node.value = value;
+            onHit(node);
+            return old;
+        }
+        node = new Node<>(key, value);
+        data.put(key, node);
+        node.queue = window;
+        window.addLast(node);
+        if (window.size > maxWindow) {
+            evict(window.first());
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.queue.remove(node);
+        return node.value;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protect.clear();
+    }
+
+    /**
+     * Returns a snapshot of the entries; changes to the cache are not reflected.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> snapshot = new LinkedHashMap<>();
+        data.forEach((k, node) -> snapshot.put(k, node.value));
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    private void onHit(Node<K, V> node) {
+        if (node.queue == probation) {
+            // promote, and demote the eldest protected entry if over its share
+            probation.remove(node);
+            node.queue = protect;
+            protect.addLast(node);
+            if (protect.size > maxProtected) {
+                Node<K, V> demoted = protect.first();
+                protect.remove(demoted);
+                demoted.queue = probation;
+                probation.addLast(demoted);
+            }
+        } else {
+            node.queue.moveToLast(node);
+        }
+    }
+
+    private void evict(Node<K, V> candidate) {
+        window.remove(candidate);
+        candidate.queue = probation;
+        probation.addLast(candidate);
+        if (data.size() <= size) {
+            return;
+        }
+        Node<K, V> victim = probation.first();
+        if (victim == candidate) {
+            victim = protect.first();
+        }
+        if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+            victim = candidate;
+        }
+        victim.queue.remove(victim);
+        data.remove(victim.key);
+    }
+
+    static class Node<K, V> {
+        final K key;
+        V value;
+        Queue<K, V> queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list in access order, eldest first.
+     */
+    static class Queue<K, V> {
+        private final Node<K, V> head = new Node<>(null, null);
+        int size;
+
+        Queue() {
+            head.prev = head.next = head;
+        }
+
+        Node<K, V> first() {
+            return head.next == head ? null : head.next;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            remove(node);
+            addLast(node);
+        }
+
+        void clear() {
+            head.prev = head.next = head;
+            size = 0;
+        }
+    }
+
+}
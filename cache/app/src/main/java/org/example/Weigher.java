@@ -0,0 +1,16 @@
+package org.example;
+
+/**
+ * Computes the relative weight of an entry, for example its size in bytes.
+ * The weight of an entry must not change while it is cached.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    int weigh(K key, V value);
+
+    static <K, V> Weigher<K, V> singleton() {
+        return (k, v) -> 1;
+    }
+
+}
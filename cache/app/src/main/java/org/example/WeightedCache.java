@@ -0,0 +1,248 @@
+package org.example;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Cache bounded by the total weight of its entries rather than their number.
+ * After each insertion the eldest entries are evicted until the total weight
+ * is back under the budget.
+ */
+public class WeightedCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final StatsCounter statsCounter;
+    private long weightedSize;
+
+    public WeightedCache(long maximumWeight, Weigher<? super K, ? super V> weigher, boolean accessOrder) {
+        this(maximumWeight, weigher, accessOrder, StatsCounter.disabled());
+    }
+
+    public WeightedCache(long maximumWeight, Weigher<? super K, ? super V> weigher, boolean accessOrder,
+            StatsCounter statsCounter) {
+        super(16, 0.75f, accessOrder);
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.statsCounter = statsCounter;
+    }
+
+    public static <K, V> WeightedCache<K, V> lru(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        return new WeightedCache<>(maximumWeight, weigher, /* ordering mode: access-order */ true);
+    }
+
+    public static <K, V> WeightedCache<K, V> fifo(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        return new WeightedCache<>(maximumWeight, weigher, /* ordering mode: insertion-order */ false);
+    }
+
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = super.get(key);
+        if (value == null) {
+            statsCounter.recordMisses(1);
+        } else {
+            statsCounter.recordHits(1);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        long weight = weigh(key, value);
+        boolean replacing = containsKey(key);
+        if (replacing) {
+            weight -= weigh(key, super.get(key));
+        }
+        // account before inserting, eviction runs inside super.put
+        weightedSize += weight;
+        V old = super.put(key, value);
+        if (replacing) {
+            // HashMap only calls removeEldestEntry for new keys, a heavier value must evict too
+            evict();
+        }
+        return old;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        m.forEach(this::put);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return containsKey(key) ? super.get(key) : put(key, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        V value = super.remove(key);
+        weightedSize -= weigh((K) key, value);
+        return value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (containsKey(key) && Objects.equals(super.get(key), value)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        weightedSize = 0;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        evict();
+        return false;
+    }
+
+    // evicts directly, as many entries as needed, instead of one per insertion
+    private void evict() {
+        Iterator<Map.Entry<K, V>> it = super.entrySet().iterator();
+        while (weightedSize > maximumWeight && it.hasNext()) {
+            Map.Entry<K, V> e = it.next();
+            long weight = weigh(e.getKey(), e.getValue());
+            weightedSize -= weight;
+            it.remove();
+            statsCounter.recordEviction(weight);
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(super.keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(super.values());
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return Collections.unmodifiableSet(super.entrySet());
+    }
+
+    // the compute family goes through get, put and remove so that weights stay accounted
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = super.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = mappingFunction.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V old = super.get(key);
+        if (old == null) {
+            return null;
+        }
+        V value = remappingFunction.apply(key, old);
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V old = super.get(key);
+        V value = remappingFunction.apply(key, old);
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        V old = super.get(key);
+        V merged = old == null ? value : remappingFunction.apply(old, value);
+        if (merged == null) {
+            remove(key);
+        } else {
+            put(key, merged);
+        }
+        return merged;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (containsKey(key) && Objects.equals(super.get(key), oldValue)) {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        // copy first, put reorders and may evict
+        List<Map.Entry<K, V>> entries = new ArrayList<>();
+        super.entrySet().forEach(e -> entries.add(new AbstractMap.SimpleImmutableEntry<>(e)));
+        for (Map.Entry<K, V> e : entries) {
+            if (containsKey(e.getKey())) {
+                put(e.getKey(), function.apply(e.getKey(), e.getValue()));
+            }
+        }
+    }
+
+    private long weigh(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("negative weight " + weight);
+        }
+        return weight;
+    }
+
+}
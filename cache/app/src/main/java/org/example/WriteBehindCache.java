@@ -0,0 +1,164 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cache whose writes reach the backend later, in batches. Writes update the cache and
+ * mark the key dirty; repeated writes to a key before the next flush coalesce into one.
+ * Dirty entries are flushed to the sink every {@code flushInterval}, and as soon as
+ * {@code batchSize} keys are dirty. Values evicted from the cache before they are
+ * flushed are still served, and still written.
+ */
+public class WriteBehindCache<K, V> implements AutoCloseable {
+
+    private final Map<K, V> cache;
+    private final WriteBehindSink<K, V> sink;
+    private final int batchSize;
+    private final ConcurrentHashMap<K, V> dirty = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+    // puts share it, close takes it exclusively to set closed
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    // one flush at a time, so the sink sees writes to a key in order
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * @param cache a thread-safe cache, for example a {@link StripedLruCache}
+     */
+    public WriteBehindCache(Map<K, V> cache, WriteBehindSink<K, V> sink, int batchSize, Duration flushInterval) {
+        if (batchSize <= 0 || !flushInterval.isPositive()) {
+            throw new IllegalArgumentException();
+        }
+        this.cache = cache;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+            .name("write-behind").daemon().factory());
+        long interval = flushInterval.toNanos();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    public V get(K key) {
+        V value = cache.get(key);
+        return value != null ? value : dirty.get(key);
+    }
+
+    /**
+     * @throws IllegalStateException if the cache has been closed
+     */
+    public void put(K key, V value) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("closed");
+            }
+            cache.put(key, value);
+            dirty.put(key, value);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        if (dirty.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    flushScheduled.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                // closed since the entry was marked dirty, the final flush in close() writes it
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Removes the entry from the cache and drops its pending write, if any.
+     */
+    public void remove(K key) {
+        cache.remove(key);
+        dirty.remove(key);
+    }
+
+    /**
+     * Writes all dirty entries to the sink now. If the sink fails the entries
+     * stay dirty, unless written again meanwhile, and the failure is rethrown.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            // only the keys dirty now; keys written during the flush wait for the next one,
+            // so that sustained writes keep coalescing instead of keeping the flush going
+            List<K> keys = new ArrayList<>(dirty.keySet());
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                Map<K, V> batch = new HashMap<>();
+                for (K key : keys.subList(from, Math.min(from + batchSize, keys.size()))) {
+                    // taking the entry atomically, a concurrent put marks the key dirty again
+                    V value = dirty.remove(key);
+                    if (value != null) {
+                        batch.put(key, value);
+                    }
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                try {
+                    sink.write(batch);
+                } catch (Throwable t) {
+                    batch.forEach(dirty::putIfAbsent);
+                    throw t;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Number of keys written since they were last flushed.
+     */
+    public int pending() {
+        return dirty.size();
+    }
+
+    /**
+     * Stops the scheduled flushes and flushes what is still dirty.
+     */
+    @Override
+    public void close() {
+        // waits for puts in progress, so their entries are dirty before the final flush
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // the entries stay dirty and are retried with the next flush
+        }
+    }
+
+}
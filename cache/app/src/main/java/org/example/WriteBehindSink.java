@@ -0,0 +1,17 @@
+package org.example;
+
+import java.util.Map;
+
+/**
+ * Backend that a {@link WriteBehindCache} flushes dirty entries to.
+ */
+@FunctionalInterface
+public interface WriteBehindSink<K, V> {
+
+    /**
+     * Writes a batch holding the latest value of each dirty key. Throwing leaves
+     * the entries dirty, to be retried with the next flush.
+     */
+    void write(Map<K, V> batch);
+
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArcCacheTest {
+
+    @Test
+    void test() {
+        var cache = new ArcCache<String, String>(5);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, cache.size());
+        cache.entrySet().forEach(e ->
+            assertEquals(e.getKey().replace("key", "value"), e.getValue()));
+
+        assertEquals("value9", cache.get("key9"));
+        assertEquals("value9", cache.remove("key9"));
+        assertNull(cache.get("key9"));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void ghostHitsShiftTheBalance() {
+        var cache = new ArcCache<Integer, Integer>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.get(i);
+        }
+        for (int i = 10; i < 20; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(0, cache.recencyTarget());
+
+        // the recency list and its ghosts cover the cache size, so 10..14 are ghosts by now;
+        // asking for them again grows the recency list
+        for (int i = 10; i < 15; i++) {
+            assertNull(cache.get(i));
+            cache.put(i, i);
+        }
+        assertTrue(cache.recencyTarget() > 0);
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    void zipf() {
+        var ratios = Traces.hitRatios(Traces.zipf(), ArcCache::new);
+        assertTrue(ratios.policy() > ratios.lru());
+        assertTrue(ratios.policy() > ratios.fifo());
+    }
+
+    @Test
+    void scan() {
+        var ratios = Traces.hitRatios(Traces.zipfWithScans(), ArcCache::new);
+        assertTrue(ratios.policy() > ratios.lru());
+        assertTrue(ratios.policy() > ratios.fifo());
+    }
+
+    @Test
+    void shiftingPhases() {
+        // a frequency friendly phase followed by a recency friendly one, and back
+        long[] zipf = Traces.zipf(100_000, 0.9, 300_000, 1);
+        long[] recent = LongStream.range(0, 300_000).map(i -> 1_000_000 + i / 4 % 50_000 + i / 2_000 * 500).toArray();
+        long[] trace = concat(zipf, recent, Traces.zipf(100_000, 0.9, 300_000, 2));
+        var ratios = Traces.hitRatios(trace, ArcCache::new);
+        // about 0.54 against 0.48 for LRU, deterministic for these seeds
+        assertTrue(ratios.policy() > ratios.lru() + 0.05);
+        assertTrue(ratios.policy() > ratios.fifo() + 0.05);
+    }
+
+    private static long[] concat(long[]... traces) {
+        return Arrays.stream(traces).flatMapToLong(Arrays::stream).toArray();
+    }
+
+}
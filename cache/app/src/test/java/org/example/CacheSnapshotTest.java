@@ -0,0 +1,73 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotTest {
+
+    @Test
+    void test() throws Exception {
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            var lru = new LruCache<String, String>(5);
+            for (int i = 0; i < 10; i++) {
+                lru.put("key" + i, "value" + i);
+            }
+            lru.get("key6");
+            CacheSnapshot.save(lru, path, Serializer.STRING, Serializer.STRING);
+
+            var restored = new LruCache<String, String>(5);
+            assertEquals(5, CacheSnapshot.load(restored, path, Serializer.STRING, Serializer.STRING));
+
+            assertIterableEquals(
+                lru.entrySet().stream().map(Map.Entry::getKey).toList(),
+                restored.entrySet().stream().map(Map.Entry::getKey).toList());
+
+            // recency survived, key5 is the eldest
+            restored.put("keyA", "valueA");
+            assertFalse(restored.containsKey("key5"));
+            assertTrue(restored.containsKey("key6"));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void largeValues() throws Exception {
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            var fifo = new FifoCache<Long, byte[]>(100);
+            for (long i = 0; i < 100; i++) {
+                fifo.put(i, new byte[(int) (i * 30_000)]);
+            }
+            CacheSnapshot.save(fifo, path, Serializer.LONG, Serializer.BYTES);
+
+            var restored = new FifoCache<Long, byte[]>(100);
+            CacheSnapshot.load(restored, path, Serializer.LONG, Serializer.BYTES);
+            for (long i = 0; i < 100; i++) {
+                assertEquals(i * 30_000, restored.get(i).length);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void rejectsForeignFile() throws Exception {
+        Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            Files.writeString(path, "not a snapshot at all");
+            assertThrows(IOException.class,
+                () -> CacheSnapshot.load(new LruCache<>(5), path, Serializer.STRING, Serializer.STRING));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatsTest {
+
+    @Test
+    void lruCache() {
+        var lru = new LruCache<String, String>(2, StatsCounter.concurrent());
+        lru.put("a", "1");
+        lru.put("b", "2");
+        lru.get("a");
+        lru.get("c");
+        lru.put("c", "3");
+
+        var stats = lru.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.evictionCount());
+        assertEquals(0.5, stats.hitRate(), 0.0);
+    }
+
+    @Test
+    void disabled() {
+        var lru = new LruCache<String, String>(2);
+        lru.put("a", "1");
+        lru.get("a");
+        assertSame(CacheStats.EMPTY, lru.stats());
+    }
+
+    @Test
+    void evictionWeight() {
+        var cache = new WeightedCache<String, byte[]>(100, (k, v) -> v.length, true, StatsCounter.concurrent());
+        cache.put("a", new byte[60]);
+        cache.put("b", new byte[60]);
+
+        var stats = cache.stats();
+        assertEquals(1, stats.evictionCount());
+        assertEquals(60, stats.evictionWeight());
+    }
+
+    @Test
+    void expiryAndLoads() {
+        var nanos = new AtomicLong();
+        var expiring = new ExpiringCache<String, String>(
+            10, Duration.ofSeconds(1), null, nanos::get, StatsCounter.concurrent());
+        var cache = new LoadingCache<String, String>(expiring, String::toUpperCase);
+
+        cache.get("a");
+        cache.get("a");
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.get("a");
+
+        var stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(2, stats.loadSuccessCount());
+        assertEquals(1, stats.evictionCount());
+    }
+
+    @Test
+    void minus() {
+        var before = new CacheStats(1, 2, 3, 4, 5, 6, 7);
+        var after = new CacheStats(2, 4, 6, 8, 10, 12, 14);
+        assertEquals(before, after.minus(before));
+    }
+
+    @Test
+    void jmx() throws Exception {
+        var counter = StatsCounter.concurrent();
+        counter.recordHits(3);
+        counter.recordMisses(1);
+
+        var name = JmxCacheStats.register("test", counter);
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(3L, server.getAttribute(name, "HitCount"));
+            assertEquals(0.75, (double) server.getAttribute(name, "HitRate"), 0.0);
+            assertTrue(((String) server.getAttribute(name, "Dump")).startsWith("hits=3 misses=1"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockCacheTest {
+
+    @Test
+    void test() {
+        var cache = new ClockCache<String, String>(5);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, cache.size());
+        assertIterableEquals(
+            List.of("key5", "key6", "key7", "key8", "key9"),
+            cache.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+
+        // a referenced entry gets a second chance, the hand takes the next one
+        cache.get("key5");
+        cache.put("keyA", "valueA");
+
+        assertIterableEquals(
+            List.of("key5", "key7", "key8", "key9", "keyA"),
+            cache.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+    }
+
+    @Test
+    void remove() {
+        var cache = new ClockCache<String, String>(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertEquals("1", cache.remove("a"));
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("2", cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void zipf() {
+        var ratios = Traces.hitRatios(Traces.zipf(), ClockCache::new);
+        assertTrue(ratios.policy() > ratios.fifo());
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        var cache = new ClockCache<Integer, Integer>(1_000);
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int base = t * 10_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(base + i, i);
+                        cache.get(base + i / 2);
+                        if (i % 7 == 0) cache.remove(base + i / 3);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+
+        assertTrue(cache.size() <= 1_000);
+        cache.entrySet().forEach(e -> assertEquals(Integer.valueOf(e.getKey() % 10_000), e.getValue()));
+    }
+
+}
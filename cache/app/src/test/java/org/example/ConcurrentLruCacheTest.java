@@ -0,0 +1,117 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLruCacheTest {
+
+    @Test
+    void test() {
+        var lru = new ConcurrentLruCache<String, String>(5);
+
+        for (int i = 0; i < 10; i++) {
+            lru.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, lru.size());
+
+        lru.get("key7");
+        lru.put("keyA", "valueA");
+
+        assertIterableEquals(
+            List.of("key6", "key7", "key8", "key9", "keyA"),
+            lru.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+
+        lru.get("key9");
+        lru.put("keyB", "valueB");
+        lru.put("keyC", "valueC");
+
+        assertIterableEquals(
+            List.of("key7", "key9", "keyA", "keyB", "keyC"),
+            lru.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+    }
+
+    @Test
+    void remove() {
+        var lru = new ConcurrentLruCache<String, String>(2);
+        lru.put("a", "1");
+        lru.put("b", "2");
+
+        assertEquals("1", lru.remove("a"));
+        lru.put("c", "3");
+
+        assertEquals(2, lru.size());
+        assertEquals("2", lru.get("b"));
+        assertEquals("3", lru.get("c"));
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        var lru = new ConcurrentLruCache<Integer, Integer>(1_000);
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int base = t * 10_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        lru.put(base + i, i);
+                        lru.get(base + i / 2);
+                        if (i % 7 == 0) lru.remove(base + i / 3);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+
+        assertTrue(lru.size() <= 1_000);
+    }
+
+    @Test
+    void putRacingRemoveLosesNoValue() throws Exception {
+        var lru = new ConcurrentLruCache<String, Integer>(10);
+        int writes = 200_000;
+        // every value written is returned exactly once: by the next put, by a remove, or by the final get
+        List<Integer> seen = new ArrayList<>();
+        var done = new AtomicBoolean();
+
+        Thread remover = Thread.ofPlatform().start(() -> {
+            List<Integer> removed = new ArrayList<>();
+            while (!done.get()) {
+                Integer value = lru.remove("key");
+                if (value != null) removed.add(value);
+            }
+            synchronized (seen) {
+                seen.addAll(removed);
+            }
+        });
+        List<Integer> replaced = new ArrayList<>();
+        for (int i = 0; i < writes; i++) {
+            Integer old = lru.put("key", i);
+            if (old != null) replaced.add(old);
+        }
+        done.set(true);
+        remover.join();
+
+        seen.addAll(replaced);
+        Integer last = lru.get("key");
+        if (last != null) seen.add(last);
+        Collections.sort(seen);
+        assertEquals(writes, seen.size());
+        for (int i = 0; i < writes; i++) {
+            assertEquals(Integer.valueOf(i), seen.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskTierTest {
+
+    @Test
+    void test() throws Exception {
+        Path path = Files.createTempFile("disk-tier", ".dat");
+        try (var disk = new DiskTier<>(path, 1 << 16, Serializer.STRING, Serializer.STRING)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(disk.put("key" + i, "value" + i));
+            }
+            assertEquals(10, disk.size());
+            assertEquals("value3", disk.get("key3"));
+
+            disk.put("key3", "value3-2");
+            assertEquals("value3-2", disk.get("key3"));
+            assertEquals(10, disk.size());
+
+            assertTrue(disk.remove("key3"));
+            assertNull(disk.get("key3"));
+            assertEquals(9, disk.size());
+        }
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void compact() throws Exception {
+        Path path = Files.createTempFile("disk-tier", ".dat");
+        try (var disk = new DiskTier<>(path, 1 << 16, Serializer.LONG, Serializer.BYTES)) {
+            for (long i = 0; i < 100; i++) {
+                disk.put(i, new byte[100]);
+            }
+            for (long i = 0; i < 100; i += 2) {
+                disk.remove(i);
+            }
+            long live = disk.liveBytes();
+            disk.compact(0);
+
+            assertEquals(live, disk.fileBytes());
+            assertEquals(50, disk.size());
+            for (long i = 1; i < 100; i += 2) {
+                assertEquals(100, disk.get(i).length);
+            }
+            assertNull(disk.get(0L));
+        }
+    }
+
+    @Test
+    void overwritesCompactInBackground() throws Exception {
+        Path path = Files.createTempFile("disk-tier", ".dat");
+        try (var disk = new DiskTier<>(path, 1 << 16, Serializer.LONG, Serializer.BYTES)) {
+            for (int round = 0; round < 100; round++) {
+                for (long i = 0; i < 10; i++) {
+                    disk.put(i, new byte[] { (byte) round });
+                }
+            }
+            assertEquals(10, disk.size());
+            for (long i = 0; i < 10; i++) {
+                assertArrayEquals(new byte[] { 99 }, disk.get(i));
+            }
+        }
+    }
+
+    @Test
+    void fullFileDropsOldestRecords() throws Exception {
+        Path path = Files.createTempFile("disk-tier", ".dat");
+        try (var disk = new DiskTier<>(path, 10_000, Serializer.LONG, Serializer.BYTES)) {
+            for (long i = 0; i < 1_000; i++) {
+                assertTrue(disk.put(i, new byte[100]));
+            }
+            assertTrue(disk.fileBytes() <= 10_000);
+            assertNotNull(disk.get(999L));
+            assertNull(disk.get(0L));
+        }
+    }
+
+    @Test
+    void backgroundCompactionFailureIsReported() throws Exception {
+        Path path = Files.createTempFile("disk-tier", ".dat");
+        // compaction cannot create its target file
+        Path target = Files.createDirectory(path.resolveSibling(path.getFileName() + ".compact"));
+        try (var disk = new DiskTier<>(path, 1 << 16, Serializer.LONG, Serializer.BYTES)) {
+            // enough garbage to start a background compaction, not enough to fill the file
+            assertThrows(UncheckedIOException.class, () -> {
+                for (int round = 0; round < 250; round++) {
+                    for (long i = 0; i < 10; i++) {
+                        disk.put(i, new byte[] { (byte) round });
+                    }
+                }
+                for (int i = 0; i < 100; i++) {
+                    disk.get(0L);
+                    Thread.sleep(10);
+                }
+            });
+            assertEquals(10, disk.size());
+        } finally {
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    void failedSwapKeepsTheCurrentFile() throws Exception {
+        Path path = Files.createTempFile("disk-tier", ".dat");
+        Path target = path.resolveSibling(path.getFileName() + ".compact");
+        try (var disk = new DiskTier<>(path, 1 << 16, Serializer.LONG, Serializer.BYTES)) {
+            for (long i = 0; i < 10; i++) {
+                disk.put(i, new byte[] { (byte) i });
+            }
+            // the mapping outlives the file, a non-empty directory in its place makes the move fail
+            Files.delete(path);
+            Files.createDirectories(path.resolve("blocker"));
+            try {
+                assertThrows(IOException.class, () -> disk.compact(0));
+                assertFalse(Files.exists(target));
+
+                assertArrayEquals(new byte[] { 3 }, disk.get(3L));
+                assertTrue(disk.put(10L, new byte[] { 10 }));
+                assertEquals(11, disk.size());
+            } finally {
+                Files.delete(path.resolve("blocker"));
+                Files.delete(path);
+            }
+        }
+    }
+
+}
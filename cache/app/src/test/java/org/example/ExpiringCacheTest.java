@@ -0,0 +1,137 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void test() {
+        var cache = new ExpiringCache<String, String>(5, null, null, ticker);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, cache.size());
+
+        cache.get("key7");
+        cache.put("keyA", "valueA");
+
+        assertIterableEquals(
+            List.of("key6", "key7", "key8", "key9", "keyA"),
+            cache.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+    }
+
+    @Test
+    void removalListener() {
+        List<String> removals = new ArrayList<>();
+        var cache = new ExpiringCache<String, String>(2, Duration.ofMinutes(1), null, ticker,
+            StatsCounter.disabled(), (k, v, cause) -> removals.add(k + "=" + v + " " + cause));
+
+        cache.put("a", "1");
+        cache.put("a", "2");
+        cache.put("b", "3");
+        cache.put("c", "4");
+        cache.remove("b");
+        advance(Duration.ofMinutes(2));
+        cache.get("c");
+
+        assertEquals(List.of("a=1 REPLACED", "a=2 SIZE", "b=3 EXPLICIT", "c=4 EXPIRED"), removals);
+    }
+
+    @Test
+    void expireAfterWrite() {
+        var cache = new ExpiringCache<String, String>(10, Duration.ofSeconds(10), null, ticker);
+        cache.put("a", "1");
+
+        advance(Duration.ofSeconds(5));
+        cache.put("b", "2");
+        assertEquals("1", cache.get("a"));
+
+        advance(Duration.ofSeconds(5));
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals(1, cache.size());
+
+        advance(Duration.ofSeconds(5));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expireAfterAccess() {
+        var cache = new ExpiringCache<String, String>(10, null, Duration.ofMinutes(1), ticker);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        for (int i = 0; i < 10; i++) {
+            advance(Duration.ofSeconds(50));
+            assertEquals("1", cache.get("a"));
+        }
+        assertEquals(1, cache.size());
+        assertFalse(cache.containsKey("b"));
+    }
+
+    @Test
+    void expireAfterWriteBoundsAccess() {
+        var cache = new ExpiringCache<String, String>(10, Duration.ofMinutes(2), Duration.ofMinutes(1), ticker);
+        cache.put("a", "1");
+
+        advance(Duration.ofSeconds(50));
+        assertEquals("1", cache.get("a"));
+        advance(Duration.ofSeconds(50));
+        assertEquals("1", cache.get("a"));
+        assertEquals(20_000_000_000L, cache.expiresInNanos("a"));
+        advance(Duration.ofSeconds(20));
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void wheelNeverExpiresEarlyAndEventuallyExpiresAll() {
+        nanos.set(-Duration.ofDays(3).toNanos());
+        var random = new SplittableRandom(1);
+        var ttls = List.of(Duration.ofSeconds(1), Duration.ofMinutes(3), Duration.ofHours(5),
+            Duration.ofDays(2), Duration.ofDays(9));
+        var caches = ttls.stream()
+            .map(ttl -> new ExpiringCache<Integer, Integer>(10_000, ttl, null, ticker))
+            .toList();
+        long[] written = new long[1_000];
+        for (int i = 0; i < written.length; i++) {
+            written[i] = nanos.get();
+            for (var cache : caches) {
+                cache.put(i, i);
+            }
+            advance(Duration.ofMillis(random.nextInt(1_000)));
+        }
+        for (int step = 0; step < 2_000; step++) {
+            advance(Duration.ofMinutes(10));
+            for (int c = 0; c < caches.size(); c++) {
+                long ttl = ttls.get(c).toNanos();
+                long live = 0;
+                for (long w : written) {
+                    if (w + ttl - nanos.get() > 0) live++;
+                }
+                assertTrue(caches.get(c).size() >= live);
+            }
+        }
+        for (var cache : caches) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+}
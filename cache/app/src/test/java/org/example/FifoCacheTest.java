@@ -3,6 +3,7 @@ package org.example;
 import org.junit.jupiter.api.Test;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,4 +27,21 @@ class FifoCacheTest {
         }
 
     }
+
+    @Test
+    void resize() {
+        var fifo = new FifoCache<Integer, Integer>(20);
+        for (int i = 0; i < 20; i++) {
+            fifo.put(i, i);
+        }
+
+        fifo.setCapacity(10);
+        fifo.put(20, 20);
+        assertEquals(13, fifo.size());
+        fifo.put(21, 21);
+        assertEquals(10, fifo.size());
+        assertIterableEquals(
+            List.of(12, 13, 14, 15, 16, 17, 18, 19, 20, 21),
+            fifo.entrySet().stream().map(Map.Entry::getKey).toList());
+    }
 }
@@ -0,0 +1,46 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HillClimberTest {
+
+    private static int tune(double costPerEntry) {
+        var cache = new LruCache<Long, Long>(1_000, StatsCounter.concurrent());
+        var climber = new HillClimber(cache, cache::stats, 10_000, costPerEntry);
+        long[] trace = Traces.zipf(100_000, 0.9, 2_000_000, 1);
+        for (int i = 0; i < trace.length; i++) {
+            if (cache.get(trace[i]) == null) {
+                cache.put(trace[i], trace[i]);
+            }
+            if ((i + 1) % 20_000 == 0) {
+                climber.adjust();
+            }
+        }
+        // after a shrink the excess is evicted a bounded batch per insertion, so a
+        // few thousand fresh keys are enough to bring the size down to the capacity
+        for (long key = -1; key >= -5_000; key--) {
+            cache.put(key, key);
+        }
+        assertEquals(cache.capacity(), cache.size());
+        return cache.capacity();
+    }
+
+    @Test
+    void freeMemoryGrowsToBudget() {
+        assertEquals(10_000, tune(0));
+    }
+
+    @Test
+    void expensiveMemoryShrinks() {
+        assertTrue(tune(1.0 / 1_000) < 1_000);
+    }
+
+    @Test
+    void balancedCostSettlesInBetween() {
+        int capacity = tune(0.5 / 10_000);
+        assertTrue(capacity > 1_000 && capacity < 10_000);
+    }
+
+}
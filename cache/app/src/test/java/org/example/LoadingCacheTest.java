@@ -0,0 +1,123 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadingCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    void test() {
+        var loads = new AtomicInteger();
+        var cache = new LoadingCache<String, String>(
+            new ExpiringCache<>(5, null, null, ticker),
+            key -> { loads.incrementAndGet(); return key.toUpperCase(); });
+
+        assertEquals("A", cache.get("a"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("B", cache.get("b"));
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.size());
+
+        cache.invalidate("a");
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("A", cache.get("a"));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void singleFlight() throws Exception {
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var cache = new LoadingCache<String, String>(
+            new ExpiringCache<>(5, null, null, ticker),
+            key -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return key.toUpperCase();
+            });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                futures.add(executor.submit(() -> cache.get("hot")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> f : futures) {
+                assertEquals("HOT", f.get());
+            }
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        var loads = new AtomicInteger();
+        var cache = new LoadingCache<String, String>(
+            new ExpiringCache<>(5, null, null, ticker),
+            key -> {
+                if (loads.incrementAndGet() == 1) throw new IllegalStateException("backend down");
+                return key;
+            });
+
+        assertThrows(IllegalStateException.class, () -> cache.get("a"));
+        assertEquals("a", cache.get("a"));
+    }
+
+    @Test
+    void refreshAhead() {
+        var version = new AtomicInteger();
+        var cache = new LoadingCache<String, String>(
+            new ExpiringCache<>(5, Duration.ofSeconds(10), null, ticker),
+            key -> key + version.incrementAndGet(),
+            Duration.ofSeconds(3),
+            Runnable::run);
+
+        assertEquals("a1", cache.get("a"));
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("a1", cache.get("a"));
+
+        // within three seconds of expiry, the stale value is served and a reload started
+        nanos.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertEquals("a1", cache.get("a"));
+        assertEquals("a2", cache.getIfPresent("a"));
+
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("a2", cache.get("a"));
+    }
+
+    @Test
+    void rejectedRefreshDoesNotBlockLoads() throws Exception {
+        var cache = new LoadingCache<String, String>(
+            new ExpiringCache<>(5, null, null, ticker),
+            key -> key + "1",
+            Duration.ZERO,
+            task -> { throw new RejectedExecutionException(); });
+
+        assertThrows(RejectedExecutionException.class, () -> cache.refresh("a"));
+
+        // used to wait forever on the abandoned refresh
+        var loader = Thread.ofVirtual().start(() -> assertEquals("a1", cache.get("a")));
+        assertTrue(loader.join(Duration.ofSeconds(10)));
+        assertEquals("a1", cache.getIfPresent("a"));
+    }
+
+}
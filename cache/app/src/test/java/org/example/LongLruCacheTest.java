@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLruCacheTest {
+
+    @Test
+    void test() {
+        var lru = new LongLruCache<String>(5);
+
+        for (int i = 0; i < 10; i++) {
+            lru.put(i, "value" + i);
+        }
+
+        assertEquals(5, lru.size());
+        for (int i = 0; i < 5; i++) {
+            assertFalse(lru.containsKey(i));
+        }
+
+        lru.get(7);
+        lru.put(10, "value10");
+        assertFalse(lru.containsKey(5));
+
+        lru.get(9);
+        lru.put(11, "value11");
+        lru.put(12, "value12");
+
+        for (long key : new long[] { 7, 9, 10, 11, 12 }) {
+            assertEquals("value" + key, lru.get(key));
+        }
+    }
+
+    @Test
+    void remove() {
+        var lru = new LongLruCache<String>(3);
+        lru.put(1, "a");
+        lru.put(2, "b");
+        lru.put(3, "c");
+
+        assertEquals("b", lru.remove(2));
+        assertNull(lru.remove(2));
+        assertEquals(2, lru.size());
+
+        lru.put(4, "d");
+        assertEquals(3, lru.size());
+        assertEquals("a", lru.get(1));
+        assertEquals("c", lru.get(3));
+        assertEquals("d", lru.get(4));
+    }
+
+    @Test
+    void behavesLikeLruCache() {
+        var random = new SplittableRandom(1);
+        var expected = new LruCache<Long, Long>(64);
+        var actual = new LongLruCache<Long>(64);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(200);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.put(key, key + i), actual.put(key, key + i));
+                case 1 -> assertEquals(expected.remove(key), actual.remove(key));
+                default -> assertEquals(expected.get(key), actual.get(key));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+    }
+
+}
@@ -42,4 +42,32 @@ class LruCacheTest {
 
     }
 
+    @Test
+    void resize() {
+        var lru = new LruCache<Integer, Integer>(100);
+        for (int i = 0; i < 100; i++) {
+            lru.put(i, i);
+        }
+
+        lru.setCapacity(50);
+        assertEquals(50, lru.capacity());
+        assertEquals(100, lru.size());
+
+        // each insertion evicts a bounded batch of the eldest entries
+        lru.put(100, 100);
+        assertEquals(93, lru.size());
+        assertNull(lru.get(7));
+        assertEquals(Integer.valueOf(8), lru.get(8));
+        for (int i = 101; i < 110; i++) {
+            lru.put(i, i);
+        }
+        assertEquals(50, lru.size());
+
+        lru.setCapacity(200);
+        for (int i = 0; i < 200; i++) {
+            lru.put(1_000 + i, i);
+        }
+        assertEquals(200, lru.size());
+    }
+
 }
@@ -0,0 +1,58 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCacheTest {
+
+    @Test
+    void test() {
+        try (var cache = new OffHeapCache<>(1024, 4, Serializer.STRING, Serializer.STRING)) {
+            for (int i = 0; i < 10; i++) {
+                cache.put("key" + i, "value" + i);
+            }
+            assertEquals(10, cache.size());
+            assertEquals("value3", cache.get("key3"));
+
+            cache.put("key3", "value3-2");
+            assertEquals(10, cache.size());
+            assertEquals("value3-2", cache.get("key3"));
+
+            assertTrue(cache.remove("key3"));
+            assertFalse(cache.containsKey("key3"));
+            assertNull(cache.get("key3"));
+            assertEquals(9, cache.size());
+        }
+    }
+
+    @Test
+    void evictBySlab() {
+        // each record is 8 + 8 + 100 bytes, so a slab holds 8 of them
+        try (var cache = new OffHeapCache<>(1024, 4, Serializer.LONG, Serializer.BYTES)) {
+            for (long i = 0; i < 100; i++) {
+                cache.put(i, new byte[100]);
+            }
+            assertTrue(cache.size() <= 4 * 8);
+            assertTrue(cache.size() > 3 * 8 - 8);
+            assertNotNull(cache.get(99L));
+            assertNull(cache.get(0L));
+        }
+    }
+
+    @Test
+    void overwrittenKeySurvivesEvictionOfItsOldRecord() {
+        try (var cache = new OffHeapCache<>(1024, 2, Serializer.LONG, Serializer.BYTES)) {
+            cache.put(-1L, new byte[] { 1 });
+            for (long i = 0; i < 8; i++) {
+                cache.put(i, new byte[100]);
+            }
+            cache.put(-1L, new byte[] { 2 });
+            for (long i = 8; i < 12; i++) {
+                cache.put(i, new byte[100]);
+            }
+            assertArrayEquals(new byte[] { 2 }, cache.get(-1L));
+        }
+    }
+
+}
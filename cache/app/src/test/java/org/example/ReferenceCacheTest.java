@@ -0,0 +1,99 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceCacheTest {
+
+    @Test
+    void test() {
+        var cache = ReferenceCache.<String, String>softValues(5);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, cache.size());
+
+        cache.get("key7");
+        cache.put("keyA", "valueA");
+
+        assertIterableEquals(
+            List.of("key6", "key8", "key9", "key7", "keyA"),
+            cache.entrySet().stream().map(Map.Entry::getKey).toList());
+        assertEquals("value7", cache.remove("key7"));
+        assertNull(cache.get("key7"));
+    }
+
+    @Test
+    void containsKeyKeepsAccessOrder() {
+        var cache = ReferenceCache.<String, String>softValues(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("c"));
+        cache.put("c", "3");
+
+        assertFalse(cache.containsKey("a"));
+        assertTrue(cache.containsKey("b"));
+    }
+
+    @Test
+    void weakKeysAreComparedByIdentity() {
+        var cache = ReferenceCache.<String, String>weakKeys(5);
+        String key = new String("key");
+        cache.put(key, "value");
+
+        assertEquals("value", cache.get(key));
+        assertNull(cache.get(new String("key")));
+        assertEquals("value", cache.put(key, "other"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void collectedKeysAreDrained() throws Exception {
+        var cache = ReferenceCache.<Object, String>weakKeys(1_000);
+        List<Object> retained = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Object key = new Object();
+            cache.put(key, "value" + i);
+            if (i % 2 == 0) retained.add(key);
+        }
+
+        awaitSize(cache, 50);
+        retained.forEach(key -> assertNotNull(cache.get(key)));
+    }
+
+    @Test
+    void collectedValuesAreDrained() throws Exception {
+        var cache = new ReferenceCache<Integer, Object>(1_000, ReferenceCache.Strength.STRONG,
+            ReferenceCache.Strength.WEAK);
+        List<Object> retained = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Object value = new Object();
+            cache.put(i, value);
+            if (i < 10) retained.add(value);
+        }
+
+        awaitSize(cache, 10);
+        for (int i = 0; i < 10; i++) {
+            assertSame(retained.get(i), cache.get(i));
+        }
+        assertEquals(10, cache.entrySet().size());
+    }
+
+    private static void awaitSize(ReferenceCache<?, ?> cache, int size) throws InterruptedException {
+        for (int i = 0; i < 100 && cache.size() != size; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(size, cache.size());
+    }
+
+}
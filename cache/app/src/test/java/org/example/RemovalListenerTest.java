@@ -0,0 +1,177 @@
+package org.example;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemovalListenerTest {
+
+    record Removal(Object key, Object value, RemovalCause cause) {
+    }
+
+    @Test
+    void causes() {
+        List<Removal> removals = new ArrayList<>();
+        var lru = new LruCache<String, String>(2, StatsCounter.disabled(),
+            (k, v, cause) -> removals.add(new Removal(k, v, cause)));
+
+        lru.put("a", "1");
+        lru.put("b", "2");
+        lru.put("a", "3");
+        lru.put("c", "4");
+        lru.remove("c");
+        lru.putAll(Map.of("a", "5"));
+        lru.clear();
+
+        assertEquals(List.of(
+            new Removal("a", "1", RemovalCause.REPLACED),
+            new Removal("b", "2", RemovalCause.SIZE),
+            new Removal("c", "4", RemovalCause.EXPLICIT),
+            new Removal("a", "3", RemovalCause.REPLACED),
+            new Removal("a", "5", RemovalCause.EXPLICIT)), removals);
+        assertTrue(RemovalCause.SIZE.wasEvicted());
+        assertFalse(RemovalCause.REPLACED.wasEvicted());
+    }
+
+    @Test
+    void mapMutators() {
+        List<Removal> removals = new ArrayList<>();
+        var lru = new LruCache<String, Integer>(10, StatsCounter.disabled(),
+            (k, v, cause) -> removals.add(new Removal(k, v, cause)));
+
+        lru.put("a", 1);
+        lru.replace("a", 2);
+        lru.replace("a", 2, 3);
+        lru.compute("a", (k, v) -> v + 1);
+        lru.computeIfPresent("a", (k, v) -> v + 1);
+        lru.merge("a", 10, Integer::sum);
+        lru.replaceAll((k, v) -> v + 1);
+        lru.remove("a", 16);
+        lru.put("b", 1);
+        lru.computeIfPresent("b", (k, v) -> null);
+        lru.merge("c", 1, Integer::sum);
+        lru.merge("c", 1, (v1, v2) -> null);
+
+        assertEquals(List.of(
+            new Removal("a", 1, RemovalCause.REPLACED),
+            new Removal("a", 2, RemovalCause.REPLACED),
+            new Removal("a", 3, RemovalCause.REPLACED),
+            new Removal("a", 4, RemovalCause.REPLACED),
+            new Removal("a", 5, RemovalCause.REPLACED),
+            new Removal("a", 15, RemovalCause.REPLACED),
+            new Removal("a", 16, RemovalCause.EXPLICIT),
+            new Removal("b", 1, RemovalCause.EXPLICIT),
+            new Removal("c", 1, RemovalCause.EXPLICIT)), removals);
+    }
+
+    @Test
+    void listenerMayUseTheCache() {
+        var cache = new AtomicReference<LruCache<Integer, Integer>>();
+        List<Integer> seen = new ArrayList<>();
+        cache.set(new LruCache<>(100, StatsCounter.disabled(), (k, v, cause) -> {
+            // reads during an eviction, including the batches of an incremental shrink
+            seen.add(cache.get().get(k));
+            cache.get().containsKey(0);
+        }));
+        for (int i = 0; i < 100; i++) {
+            cache.get().put(i, i);
+        }
+
+        cache.get().setCapacity(10);
+        for (int i = 100; i < 120; i++) {
+            cache.get().put(i, i);
+        }
+
+        assertEquals(10, cache.get().size());
+        assertFalse(seen.isEmpty());
+        seen.forEach(Assertions::assertNull);
+    }
+
+    @Test
+    void fifo() {
+        List<Removal> removals = new ArrayList<>();
+        var fifo = new FifoCache<Integer, Integer>(2, StatsCounter.disabled(),
+            (k, v, cause) -> removals.add(new Removal(k, v, cause)));
+
+        fifo.put(1, 1);
+        fifo.put(2, 2);
+        fifo.get(1);
+        fifo.put(3, 3);
+
+        assertEquals(List.of(new Removal(1, 1, RemovalCause.SIZE)), removals);
+    }
+
+    @Test
+    void expiringCacheNotifiesOutsideItsLock() throws Exception {
+        var cache = new AtomicReference<ExpiringCache<Integer, Integer>>();
+        AtomicInteger notified = new AtomicInteger();
+
+        try (var executor = Executors.newCachedThreadPool()) {
+            // blocks on the cache from another thread, which deadlocked while notified under the lock
+            RemovalListener<Integer, Integer> reentrant = (k, v, cause) -> {
+                cache.get().size();
+                notified.incrementAndGet();
+            };
+            cache.set(new ExpiringCache<>(2, Duration.ofMinutes(1), null, Ticker.system(),
+                StatsCounter.disabled(),
+                RemovalListener.async(reentrant, executor, 1)));
+
+            var writer = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 10; i++) {
+                    cache.get().put(i, i);
+                }
+            });
+            assertTrue(writer.join(Duration.ofSeconds(10)));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(8, notified.get());
+    }
+
+    @Test
+    void asyncDispatchAppliesBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger notified = new AtomicInteger();
+        RemovalListener<Integer, Integer> slow = (k, v, cause) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            notified.incrementAndGet();
+        };
+
+        try (var executor = Executors.newCachedThreadPool()) {
+            var lru = new LruCache<Integer, Integer>(1, StatsCounter.disabled(),
+                RemovalListener.async(slow, executor, 2));
+
+            // the listener blocks, so puts return while evictions are still pending
+            lru.put(0, 0);
+            lru.put(1, 1);
+            lru.put(2, 2);
+            assertEquals(0, notified.get());
+
+            // a third pending eviction has to wait for a permit
+            var writer = Thread.ofVirtual().start(() -> lru.put(3, 3));
+            assertFalse(writer.join(Duration.ofMillis(100)));
+
+            release.countDown();
+            writer.join();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(3, notified.get());
+        }
+    }
+
+}
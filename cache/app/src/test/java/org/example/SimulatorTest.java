@@ -0,0 +1,49 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+
+    @Test
+    void binaryTrace() throws Exception {
+        Path trace = Files.createTempFile("trace", ".bin");
+        try {
+            Simulator.writeTrace(trace, Traces.loop(100, 10_000));
+            var results = Simulator.simulate(trace, List.of("lru", "w-tinylfu"), new int[] { 50, 150 }).stream()
+                .sorted(Comparator.comparing(Simulator.Result::policy).thenComparing(Simulator.Result::capacity))
+                .toList();
+
+            assertEquals(4, results.size());
+            assertEquals(10_000, results.get(0).requests());
+            // a loop larger than the cache defeats LRU, one that fits only misses once per key
+            assertEquals(0, results.get(0).hits());
+            assertEquals(9_900, results.get(1).hits());
+            assertTrue(results.get(2).hits() > 0);
+            assertEquals(9_900, results.get(3).hits());
+        } finally {
+            Files.delete(trace);
+        }
+    }
+
+    @Test
+    void textTrace() throws Exception {
+        Path trace = Files.createTempFile("trace", ".log");
+        try {
+            Files.writeString(trace, "GET /a\nGET /b\r\nGET /a\n\nGET /c\nGET /a");
+            var results = Simulator.simulate(trace, List.of("fifo"), new int[] { 2 });
+
+            assertEquals(5, results.getFirst().requests());
+            assertEquals(1, results.getFirst().hits());
+        } finally {
+            Files.delete(trace);
+        }
+    }
+
+}
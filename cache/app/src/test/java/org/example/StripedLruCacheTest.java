@@ -0,0 +1,113 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLruCacheTest {
+
+    @Test
+    void test() {
+        var lru = new StripedLruCache<String, String>(5, 1);
+
+        for (int i = 0; i < 10; i++) {
+            lru.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, lru.size());
+
+        lru.get("key7");
+        lru.put("keyA", "valueA");
+
+        assertIterableEquals(
+            List.of("key6", "key7", "key8", "key9", "keyA"),
+            lru.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+    }
+
+    @Test
+    void bulk() {
+        var lru = new StripedLruCache<Integer, Integer>(100, 8);
+
+        Map<Integer, Integer> batch = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            batch.put(i, i * 10);
+        }
+        lru.putAll(batch);
+        assertTrue(lru.size() <= 100);
+
+        List<Integer> keys = List.of(1_000, 1_001, 1_002);
+        lru.putAll(Map.of(1_000, 1, 1_001, 2));
+        assertEquals(Map.of(1_000, 1, 1_001, 2), lru.getAll(keys));
+
+        List<Set<Integer>> calls = new ArrayList<>();
+        Map<Integer, Integer> all = lru.getAll(keys, missing -> {
+            calls.add(Set.copyOf(missing));
+            Map<Integer, Integer> loaded = new HashMap<>();
+            missing.forEach(k -> loaded.put(k, -k));
+            return loaded;
+        });
+        assertEquals(Map.of(1_000, 1, 1_001, 2, 1_002, -1_002), all);
+        assertEquals(List.of(Set.of(1_002)), calls);
+        assertEquals(Integer.valueOf(-1_002), lru.get(1_002));
+    }
+
+    @Test
+    void putAllFromLruCache() {
+        var source = new LruCache<Integer, Integer>(10);
+        for (int i = 0; i < 10; i++) {
+            source.put(i, i * 10);
+        }
+        var lru = new StripedLruCache<Integer, Integer>(100, 8);
+
+        lru.putAll(source);
+
+        assertEquals(10, lru.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i * 10), lru.get(i));
+        }
+    }
+
+    @Test
+    void segmentsShareCapacity() {
+        var lru = new StripedLruCache<Integer, Integer>(100, 8);
+
+        for (int i = 0; i < 10_000; i++) {
+            lru.put(i, i);
+        }
+
+        assertTrue(lru.size() <= 100);
+        assertTrue(lru.size() > 0);
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        var lru = new StripedLruCache<Integer, Integer>(1_000, 16);
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int base = t * 10_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        lru.put(base + i, i);
+                        lru.get(base + i / 2);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        }
+
+        assertTrue(lru.size() <= 1_000);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredCacheTest {
+
+    @Test
+    void test() throws Exception {
+        Path path = Files.createTempFile("tiered", ".dat");
+        var disk = new DiskTier<>(path, 1 << 20, Serializer.STRING, Serializer.STRING);
+        try (var cache = new TieredCache<>(5, disk)) {
+            for (int i = 0; i < 10; i++) {
+                cache.put("key" + i, "value" + i);
+            }
+            assertEquals(5, cache.heapSize());
+            assertEquals(5, cache.diskSize());
+
+            // served from disk and promoted, demoting the least recently used heap entry
+            assertEquals("value0", cache.get("key0"));
+            assertEquals(5, cache.heapSize());
+            assertEquals(5, cache.diskSize());
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals("value" + i, cache.get("key" + i));
+            }
+
+            cache.put("key0", "value0-2");
+            assertEquals("value0-2", cache.get("key0"));
+
+            cache.remove("key1");
+            assertNull(cache.get("key1"));
+            assertEquals(9, cache.heapSize() + cache.diskSize());
+        }
+    }
+
+    @Test
+    void refusedDemotionsAreCounted() throws Exception {
+        Path path = Files.createTempFile("tiered", ".dat");
+        var disk = new DiskTier<>(path, 1 << 10, Serializer.STRING, Serializer.STRING);
+        try (var cache = new TieredCache<>(1, disk)) {
+            // larger than a quarter of the file, which the disk tier refuses
+            String large = "x".repeat(300);
+            cache.put("a", large);
+            cache.put("b", large);
+            cache.put("c", "small");
+
+            assertEquals(1, cache.heapSize());
+            assertEquals(0, cache.diskSize());
+            assertEquals(2, cache.droppedCount());
+            assertNull(cache.get("a"));
+        }
+    }
+
+}
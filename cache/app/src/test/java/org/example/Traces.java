@@ -0,0 +1,97 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Locally generated key traces for hit-ratio comparisons.
+ */
+class Traces {
+
+    /** Capacity of the caches that the policy tests compare. */
+    static final int CACHE_SIZE = 1_000;
+
+    /** Hit ratios of a policy and of the FIFO and LRU baselines on the same trace. */
+    record HitRatios(double fifo, double lru, double policy) {
+    }
+
+    /** Keys drawn from a Zipf distribution over {@code [0, n)}. */
+    static long[] zipf(int n, double skew, int length, long seed) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        var random = new SplittableRandom(seed);
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            int k = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            trace[i] = k < 0 ? -k - 1 : k;
+        }
+        return trace;
+    }
+
+    /** Zipf keys interrupted every {@code period} accesses by a sweep of {@code scan} never-seen keys. */
+    static long[] zipfWithScans(int n, double skew, int length, int period, int scan, long seed) {
+        long[] zipf = zipf(n, skew, length, seed);
+        long[] trace = new long[length + length / period * scan];
+        long cold = n;
+        int t = 0;
+        for (int i = 0; i < length; i++) {
+            trace[t++] = zipf[i];
+            if ((i + 1) % period == 0) {
+                for (int j = 0; j < scan; j++) {
+                    trace[t++] = cold++;
+                }
+            }
+        }
+        return trace;
+    }
+
+    /** Keys {@code 0, 1, .., n - 1} repeated in order. */
+    static long[] loop(int n, int length) {
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            trace[i] = i % n;
+        }
+        return trace;
+    }
+
+    /** Skewed keys over a key space a hundred times the cache size. */
+    static long[] zipf() {
+        return zipf(100_000, 0.9, 1_000_000, 1);
+    }
+
+    /** {@link #zipf()} interrupted by scans of twice the cache size. */
+    static long[] zipfWithScans() {
+        return zipfWithScans(100_000, 0.9, 1_000_000, 5_000, 2_000, 1);
+    }
+
+    /** A loop half again as large as the cache, where LRU and FIFO never hit. */
+    static long[] loop() {
+        return loop(1_500, 1_000_000);
+    }
+
+    static HitRatios hitRatios(long[] trace, IntFunction<Map<Long, Long>> policy) {
+        return new HitRatios(
+            hitRatio(new FifoCache<>(CACHE_SIZE), trace),
+            hitRatio(new LruCache<>(CACHE_SIZE), trace),
+            hitRatio(policy.apply(CACHE_SIZE), trace));
+    }
+
+    static double hitRatio(Map<Long, Long> cache, long[] trace) {
+        long hits = 0;
+        for (long key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / trace.length;
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WTinyLfuCacheTest {
+
+    @Test
+    void test() {
+        var cache = new WTinyLfuCache<String, String>(5);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(5, cache.size());
+        cache.entrySet().forEach(e ->
+            assertEquals(e.getKey().replace("key", "value"), e.getValue()));
+
+        assertEquals("value9", cache.get("key9"));
+        assertEquals("value9", cache.remove("key9"));
+        assertNull(cache.get("key9"));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void frequentKeysSurviveScan() {
+        var cache = new WTinyLfuCache<Integer, Integer>(100);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.get(i) == null) cache.put(i, i);
+            }
+        }
+        for (int i = 1_000; i < 11_000; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(cache.get(i), "hot key " + i);
+        }
+    }
+
+    @Test
+    void zipf() {
+        var ratios = Traces.hitRatios(Traces.zipf(), WTinyLfuCache::new);
+        assertTrue(ratios.policy() > ratios.lru());
+    }
+
+    @Test
+    void scan() {
+        var ratios = Traces.hitRatios(Traces.zipfWithScans(), WTinyLfuCache::new);
+        assertTrue(ratios.policy() > ratios.lru());
+    }
+
+    @Test
+    void loop() {
+        var ratios = Traces.hitRatios(Traces.loop(), WTinyLfuCache::new);
+        assertTrue(ratios.policy() > ratios.lru());
+    }
+
+}
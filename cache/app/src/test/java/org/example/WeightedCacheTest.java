@@ -0,0 +1,129 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedCacheTest {
+
+    private final Weigher<String, byte[]> bytes = (k, v) -> v.length;
+
+    @Test
+    void test() {
+        var cache = WeightedCache.lru(1_000, bytes);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("key" + i, new byte[200]);
+        }
+
+        assertEquals(5, cache.size());
+        assertEquals(1_000, cache.weightedSize());
+
+        cache.get("key5");
+        cache.put("keyA", new byte[450]);
+
+        assertIterableEquals(
+            List.of("key5", "key9", "keyA"),
+            cache.entrySet().stream().map(Map.Entry::getKey).sorted().toList());
+        assertEquals(850, cache.weightedSize());
+    }
+
+    @Test
+    void fifo() {
+        var cache = WeightedCache.fifo(1_000, bytes);
+
+        for (int i = 0; i < 5; i++) {
+            cache.put("key" + i, new byte[200]);
+        }
+        cache.get("key0");
+        cache.put("key5", new byte[10]);
+
+        assertFalse(cache.containsKey("key0"));
+        assertEquals(810, cache.weightedSize());
+    }
+
+    @Test
+    void replaceAndRemove() {
+        var cache = WeightedCache.lru(1_000, bytes);
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[100]);
+
+        cache.put("a", new byte[300]);
+        assertEquals(400, cache.weightedSize());
+
+        cache.remove("b");
+        assertEquals(300, cache.weightedSize());
+
+        cache.clear();
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    void overweightEntryIsNotRetained() {
+        var cache = WeightedCache.lru(1_000, bytes);
+        cache.put("a", new byte[100]);
+        cache.put("b", new byte[2_000]);
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    void viewsAreReadOnly() {
+        var cache = WeightedCache.lru(1_000, bytes);
+        cache.put("a", new byte[100]);
+
+        assertThrows(UnsupportedOperationException.class, () -> cache.keySet().remove("a"));
+    }
+
+    @Test
+    void heavierReplacementEvicts() {
+        var cache = WeightedCache.lru(100, (String k, Integer v) -> v);
+        cache.put("a", 50);
+        cache.put("b", 40);
+
+        cache.put("a", 90);
+        assertEquals(90, cache.weightedSize());
+        assertEquals(1, cache.size());
+        assertFalse(cache.containsKey("b"));
+    }
+
+    @Test
+    void computeKeepsWeights() {
+        var cache = WeightedCache.lru(100, (String k, Integer v) -> v);
+
+        assertEquals(Integer.valueOf(10), cache.computeIfAbsent("a", k -> 10));
+        assertEquals(Integer.valueOf(10), cache.computeIfAbsent("a", k -> 99));
+        assertEquals(Integer.valueOf(30), cache.merge("a", 20, Integer::sum));
+        assertEquals(Integer.valueOf(5), cache.merge("b", 5, Integer::sum));
+        assertEquals(35, cache.weightedSize());
+
+        assertEquals(Integer.valueOf(40), cache.computeIfPresent("a", (k, v) -> v + 10));
+        assertNull(cache.computeIfPresent("c", (k, v) -> 1));
+        assertEquals(Integer.valueOf(6), cache.compute("b", (k, v) -> v + 1));
+        assertEquals(46, cache.weightedSize());
+
+        assertEquals(Integer.valueOf(40), cache.replace("a", 20));
+        assertFalse(cache.replace("a", 99, 1));
+        assertTrue(cache.replace("a", 20, 25));
+        assertNull(cache.replace("c", 1));
+        assertEquals(31, cache.weightedSize());
+
+        cache.replaceAll((k, v) -> v * 2);
+        assertEquals(62, cache.weightedSize());
+
+        assertNull(cache.compute("b", (k, v) -> null));
+        assertEquals(50, cache.weightedSize());
+        assertFalse(cache.containsKey("b"));
+
+        // growing past the budget through compute still evicts
+        cache.put("c", 40);
+        cache.merge("c", 60, Integer::sum);
+        assertEquals(100, cache.weightedSize());
+        assertEquals(1, cache.size());
+    }
+
+}
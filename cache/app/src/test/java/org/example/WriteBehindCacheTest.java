@@ -0,0 +1,190 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindCacheTest {
+
+    /** In-memory backend that records every batch. */
+    static class MemorySink<K, V> implements WriteBehindSink<K, V> {
+        final List<Map<K, V>> batches = new CopyOnWriteArrayList<>();
+        final Map<K, V> store = new HashMap<>();
+        volatile boolean failing;
+
+        @Override
+        public synchronized void write(Map<K, V> batch) {
+            if (failing) {
+                throw new IllegalStateException("backend down");
+            }
+            batches.add(Map.copyOf(batch));
+            store.putAll(batch);
+        }
+    }
+
+    @Test
+    void coalescesWrites() {
+        var sink = new MemorySink<String, Long>();
+        try (var cache = new WriteBehindCache<>(new StripedLruCache<String, Long>(100), sink, 1_000,
+                Duration.ofHours(1))) {
+            for (long i = 1; i <= 100_000; i++) {
+                cache.put("counter" + i % 3, i);
+            }
+            assertEquals(3, cache.pending());
+            assertEquals(Long.valueOf(99_999), cache.get("counter0"));
+
+            cache.flush();
+            assertEquals(0, cache.pending());
+        }
+        assertEquals(1, sink.batches.size());
+        assertEquals(Map.of("counter0", 99_999L, "counter1", 100_000L, "counter2", 99_998L), sink.store);
+    }
+
+    @Test
+    void flushesAtBatchSize() throws Exception {
+        var sink = new MemorySink<Integer, Integer>();
+        try (var cache = new WriteBehindCache<>(new StripedLruCache<Integer, Integer>(10), sink, 50,
+                Duration.ofHours(1))) {
+            for (int i = 0; i < 50; i++) {
+                cache.put(i, i);
+            }
+            for (int i = 0; i < 100 && sink.batches.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+            assertFalse(sink.batches.isEmpty());
+            // evicted from the cache, but not lost
+            assertEquals(Integer.valueOf(0), sink.store.get(0));
+        }
+        assertEquals(50, sink.store.size());
+    }
+
+    @Test
+    void flushesOnSchedule() throws Exception {
+        var sink = new MemorySink<String, String>();
+        try (var cache = new WriteBehindCache<>(new StripedLruCache<String, String>(10), sink, 1_000,
+                Duration.ofMillis(10))) {
+            cache.put("a", "1");
+            // pending drops to zero as the batch is taken, before the sink has written it
+            for (int i = 0; i < 100 && sink.batches.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, cache.pending());
+            assertEquals(List.of(Map.of("a", "1")), sink.batches);
+        }
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        var sink = new MemorySink<String, String>();
+        try (var cache = new WriteBehindCache<>(new StripedLruCache<String, String>(10), sink, 1_000,
+                Duration.ofHours(1))) {
+            cache.put("a", "1");
+            cache.put("b", "2");
+            sink.failing = true;
+            assertThrows(IllegalStateException.class, cache::flush);
+            assertEquals(2, cache.pending());
+
+            // a newer value written meanwhile wins over the failed one
+            cache.put("a", "3");
+            sink.failing = false;
+            cache.flush();
+        }
+        assertEquals(Map.of("a", "3", "b", "2"), sink.store);
+    }
+
+    @Test
+    void removeDropsPendingWrite() {
+        var sink = new MemorySink<String, String>();
+        try (var cache = new WriteBehindCache<>(new StripedLruCache<String, String>(10), sink, 1_000,
+                Duration.ofHours(1))) {
+            cache.put("a", "1");
+            cache.remove("a");
+            assertNull(cache.get("a"));
+        }
+        assertTrue(sink.batches.isEmpty());
+    }
+
+    @Test
+    void flushReturnsUnderSustainedWrites() throws Exception {
+        var sink = new MemorySink<String, Long>();
+        try (var cache = new WriteBehindCache<>(new StripedLruCache<String, Long>(10), sink, 1_000,
+                Duration.ofHours(1))) {
+            var running = new AtomicBoolean(true);
+            Thread writer = Thread.ofPlatform().start(() -> {
+                for (long i = 0; running.get(); i++) {
+                    cache.put("counter" + i % 3, i);
+                }
+            });
+            try {
+                Thread.sleep(10);
+                for (int i = 0; i < 10; i++) {
+                    cache.flush();
+                }
+            } finally {
+                running.set(false);
+                writer.join();
+            }
+            // at most one batch per flush
+            assertTrue(sink.batches.size() <= 10);
+        }
+        assertEquals(3, sink.store.size());
+    }
+
+    @Test
+    void putAfterCloseIsRejected() {
+        var cache = new WriteBehindCache<>(new StripedLruCache<String, String>(10), new MemorySink<String, String>(),
+            1_000, Duration.ofHours(1));
+        cache.close();
+        assertThrows(IllegalStateException.class, () -> cache.put("a", "1"));
+    }
+
+    @Test
+    void failedFlushKeepsBatchOnError() {
+        var cache = new WriteBehindCache<>(new StripedLruCache<String, String>(10),
+            (Map<String, String> batch) -> { throw new AssertionError("backend down"); }, 1_000, Duration.ofHours(1));
+        cache.put("a", "1");
+
+        assertThrows(AssertionError.class, cache::flush);
+        assertEquals(1, cache.pending());
+    }
+
+    @Test
+    void putsRacingCloseAreWritten() throws Exception {
+        var sink = new MemorySink<Integer, Integer>();
+        var cache = new WriteBehindCache<>(new StripedLruCache<Integer, Integer>(100_000), sink, 1_000,
+            Duration.ofHours(1));
+        var accepted = new ConcurrentLinkedQueue<Integer>();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int base = t * 1_000_000;
+            writers.add(Thread.ofPlatform().start(() -> {
+                for (int i = base; ; i++) {
+                    try {
+                        cache.put(i, i);
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                    accepted.add(i);
+                }
+            }));
+        }
+        Thread.sleep(20);
+        cache.close();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(accepted.size(), sink.store.size());
+        accepted.forEach(i -> assertEquals(i, sink.store.get(i)));
+    }
+
+}
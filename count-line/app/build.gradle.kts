@@ -19,6 +19,11 @@ java {
 
 application {
     mainClass = "org.example.App"
+    applicationDefaultJvmArgs = listOf("--add-modules", "jdk.incubator.vector")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
 }
 
 tasks.run.configure {
@@ -27,4 +32,5 @@ tasks.run.configure {
 
 tasks.named<Test>("test") {
     useJUnitPlatform()
+    jvmArgs("--add-modules", "jdk.incubator.vector")
 }
@@ -0,0 +1,204 @@
+package org.example;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes min/mean/max temperature per station over a {@link Measurements} file,
+ * printed as {@code {Abha=-23.0/18.0/59.2, Abidjan=-16.2/26.0/67.3, ...}}.
+ * <p>
+ * The file is mapped and cut into one chunk per processor, each ending on a line
+ * boundary. Every chunk is aggregated on its own thread into an open-addressing
+ * table keyed by the raw station name bytes, and the tables are merged at the end.
+ * Temperatures are read as ints of tenths by {@link TemperatureParser}.
+ */
+public class Aggregation {
+
+    public static void main(String... args) throws Exception {
+        aggregate(args.length > 0 ? Path.of(args[0]) : Measurements.FILE);
+    }
+
+    static void aggregate(Path path) throws Exception {
+        long start = System.currentTimeMillis();
+        Map<String, Station> stations = aggregateStations(path);
+        System.out.println(stations);
+        System.out.printf("%,d stations in %,d ms%n", stations.size(), System.currentTimeMillis() - start);
+    }
+
+    static Map<String, Station> aggregateStations(Path path) throws Exception {
+        return aggregateStations(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    static Map<String, Station> aggregateStations(Path path, int chunks) throws Exception {
+        try (var arena = Arena.ofShared();
+             var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long length = channel.size();
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+
+            Map<String, Station> result = new TreeMap<>();
+            chunks(seg, chunks).parallelStream()
+                    .map(Aggregation::aggregateChunk)
+                    .toList()
+                    .forEach(table -> table.mergeInto(result));
+            return result;
+        }
+    }
+
+    /**
+     * Cuts the segment into about {@code n} slices that each end just after a '\n'.
+     */
+    static List<MemorySegment> chunks(MemorySegment seg, int n) {
+        long length = seg.byteSize();
+        List<MemorySegment> chunks = new ArrayList<>();
+        long start = 0;
+        for (int i = 1; i <= n && start < length; i++) {
+            long end = i == n ? length : Math.min(length, Math.max(start + 1, length * i / n));
+            while (end < length && seg.get(ValueLayout.JAVA_BYTE, end - 1) != '\n') {
+                end++;
+            }
+            if (end > start) {
+                chunks.add(seg.asSlice(start, end - start));
+                start = end;
+            }
+        }
+        return chunks;
+    }
+
+    static StationTable aggregateChunk(MemorySegment chunk) {
+        StationTable table = new StationTable();
+        long length = chunk.byteSize();
+        long pos = 0;
+        while (pos < length) {
+            long nameStart = pos;
+            int hash = 0;
+            byte b;
+            while ((b = chunk.get(ValueLayout.JAVA_BYTE, pos)) != ';') {
+                hash = 31 * hash + b;
+                pos++;
+            }
+            long nameEnd = pos++;
+
+            int temperature = TemperatureParser.parse(chunk, pos);
+            pos = TemperatureParser.skip(chunk, pos);
+            table.add(chunk, nameStart, nameEnd, hash, temperature);
+        }
+        return table;
+    }
+
+    /**
+     * Running min/max/sum/count of temperatures in tenths of a degree.
+     */
+    static class Station {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum;
+        long count;
+
+        void add(int temperature) {
+            min = Math.min(min, temperature);
+            max = Math.max(max, temperature);
+            sum += temperature;
+            count++;
+        }
+
+        void merge(Station other) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            sum += other.sum;
+            count += other.count;
+        }
+
+        @Override
+        public String toString() {
+            return min / 10.0 + "/" + Math.round((double) sum / count) / 10.0 + "/" + max / 10.0;
+        }
+    }
+
+    /**
+     * Open-addressing table from station name bytes to {@link Station}, with linear
+     * probing. Names are copied out of the segment only when first seen. The table
+     * doubles once it is a third full, so inputs beyond the 1BRC limits still work.
+     */
+    static class StationTable {
+        // the 1BRC rules allow up to 10,000 stations, which fits without growing
+        private static final int INITIAL_CAPACITY = 1 << 15;
+
+        private int mask = INITIAL_CAPACITY - 1;
+        private int size;
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private byte[][] names = new byte[INITIAL_CAPACITY][];
+        private Station[] stations = new Station[INITIAL_CAPACITY];
+
+        void add(MemorySegment seg, long start, long end, int hash, int temperature) {
+            int length = (int) (end - start);
+            for (int i = slot(hash); ; i = (i + 1) & mask) {
+                byte[] name = names[i];
+                if (name == null) {
+                    hashes[i] = hash;
+                    names[i] = seg.asSlice(start, length).toArray(ValueLayout.JAVA_BYTE);
+                    stations[i] = new Station();
+                    stations[i].add(temperature);
+                    if (++size * 3 > names.length) {
+                        grow();
+                    }
+                    return;
+                }
+                if (hashes[i] == hash && name.length == length
+                        && MemorySegment.mismatch(seg, start, end, MemorySegment.ofArray(name), 0, length) < 0) {
+                    stations[i].add(temperature);
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int slot(int hash) {
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+
+        private void grow() {
+            int[] oldHashes = hashes;
+            byte[][] oldNames = names;
+            Station[] oldStations = stations;
+            int capacity = oldNames.length * 2;
+            mask = capacity - 1;
+            hashes = new int[capacity];
+            names = new byte[capacity][];
+            stations = new Station[capacity];
+            for (int j = 0; j < oldNames.length; j++) {
+                if (oldNames[j] != null) {
+                    int i = slot(oldHashes[j]);
+                    while (names[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    hashes[i] = oldHashes[j];
+                    names[i] = oldNames[j];
+                    stations[i] = oldStations[j];
+                }
+            }
+        }
+
+        void mergeInto(Map<String, Station> result) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] != null) {
+                    result.computeIfAbsent(new String(names[i], StandardCharsets.UTF_8), k -> new Station())
+                            .merge(stations[i]);
+                }
+            }
+        }
+    }
+
+}
@@ -5,10 +5,16 @@ import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.LongStream;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
 
 public class App {
 
@@ -27,9 +33,21 @@ public class App {
         System.out.println("\ncountLineWithMemorySegment");
         countLineWithMemorySegment(path);
 
+        System.out.println("\ncountLineWithSwar");
+        countLineWithSwar(path);
+
         System.out.println("\ncountLineWithMemorySegmentParallel");
         countLineWithMemorySegmentParallel(path);
 
+        System.out.println("\ncountLineWithForkJoin");
+        countLineWithForkJoin(path);
+
+        System.out.println("\ncountLineWithVector");
+        countLineWithVector(path);
+
+        System.out.println("\naggregate");
+        Aggregation.aggregate(path);
+
         System.out.println("\nEnter any key to exit..");
         System.in.read();
 
@@ -89,6 +107,45 @@ public class App {
         System.out.printf("%,d in %,d ms%n", lines, System.currentTimeMillis() - start); // 2,000 ms
     }
 
+    static void countLineWithSwar(Path path) throws Exception {
+
+        long start = System.currentTimeMillis();
+        long lines;
+
+        try (var arena = Arena.ofConfined();
+             var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long length = channel.size();
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            lines = countLineWithSwar(seg);
+        }
+        System.out.printf("%,d in %,d ms%n", lines, System.currentTimeMillis() - start);
+    }
+
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    // SIMD within a register: eight bytes per load, no Vector API needed
+    static long countLineWithSwar(MemorySegment seg) {
+        long length = seg.byteSize();
+        long lines = 0;
+        long i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            // bytes that were '\n' become zero
+            long word = seg.get(ValueLayout.JAVA_LONG_UNALIGNED, i) ^ NEWLINES;
+            // sets the high bit of exactly the zero bytes; adding 0x7F to the low seven
+            // bits cannot carry into the next byte, so there are no false positives
+            long zeros = ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+            lines += Long.bitCount(zeros);
+        }
+        for (; i < length; i++) {
+            if (seg.get(ValueLayout.JAVA_BYTE, i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
     static void countLineWithMemorySegmentParallel(Path path) throws Exception {
 
         long start = System.currentTimeMillis();
@@ -108,5 +165,112 @@ public class App {
         System.out.printf("%,d in %,d ms%n", lines, System.currentTimeMillis() - start); // 500 ms
     }
 
+    /**
+     * Counts fixed-size slices of the file on a fork-join pool. Configure with
+     * {@code -DcountLine.chunkSize=<bytes>} (default 4 MB) and
+     * {@code -DcountLine.parallelism=<threads>} (default: available processors).
+     */
+    static void countLineWithForkJoin(Path path) throws Exception {
+
+        long chunkSize = Long.getLong("countLine.chunkSize", 4L << 20);
+        int parallelism = Integer.getInteger("countLine.parallelism", Runtime.getRuntime().availableProcessors());
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("countLine.chunkSize must be positive, was " + chunkSize);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("countLine.parallelism must be positive, was " + parallelism);
+        }
+        long start = System.currentTimeMillis();
+        long lines;
+
+        try (var arena = Arena.ofShared();
+             var channel = FileChannel.open(path, StandardOpenOption.READ);
+             var pool = new ForkJoinPool(parallelism)) {
+
+            long length = channel.size();
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            lines = pool.invoke(new CountTask(seg, chunkSize, 0, (length + chunkSize - 1) / chunkSize));
+        }
+        System.out.printf("%,d in %,d ms (%,d byte chunks, parallelism %d)%n", lines,
+                System.currentTimeMillis() - start, chunkSize, parallelism);
+    }
+
+    /**
+     * Counts the chunks {@code [from, to)}, halving the range until one chunk is left.
+     */
+    static class CountTask extends RecursiveTask<Long> {
+        private final MemorySegment seg;
+        private final long chunkSize;
+        private final long from;
+        private final long to;
+
+        CountTask(MemorySegment seg, long chunkSize, long from, long to) {
+            this.seg = seg;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= 1) {
+                long offset = from * chunkSize;
+                long size = Math.min(chunkSize, seg.byteSize() - offset);
+                return size <= 0 ? 0L : countLineWithSwar(seg.asSlice(offset, size));
+            }
+            long mid = (from + to) >>> 1;
+            var left = new CountTask(seg, chunkSize, from, mid);
+            left.fork();
+            long right = new CountTask(seg, chunkSize, mid, to).compute();
+            return right + left.join();
+        }
+    }
+
+    static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    static final long VECTOR_CHUNK = 1 << 24;
+
+    static void countLineWithVector(Path path) throws Exception {
+
+        long start = System.currentTimeMillis();
+        long lines;
+
+        try (var arena = Arena.ofShared();
+             var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long length = channel.size();
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+
+            // one task per 16 MB chunk, each compares a whole vector of bytes at a time
+            long chunks = (length + VECTOR_CHUNK - 1) / VECTOR_CHUNK;
+            lines = LongStream.range(0, chunks)
+                    .parallel()
+                    .map(c -> {
+                        long offset = c * VECTOR_CHUNK;
+                        return countLineWithVector(seg.asSlice(offset, Math.min(VECTOR_CHUNK, length - offset)));
+                    })
+                    .sum();
+        }
+        System.out.printf("%,d in %,d ms (%d-bit vectors)%n", lines, System.currentTimeMillis() - start,
+                SPECIES.vectorBitSize());
+    }
+
+    static long countLineWithVector(MemorySegment seg) {
+        long length = seg.byteSize();
+        long bound = SPECIES.loopBound(length);
+        long lines = 0;
+        long i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            lines += ByteVector.fromMemorySegment(SPECIES, seg, i, ByteOrder.nativeOrder())
+                    .eq((byte) '\n')
+                    .trueCount();
+        }
+        for (; i < length; i++) {
+            if (seg.get(ValueLayout.JAVA_BYTE, i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
 
 }
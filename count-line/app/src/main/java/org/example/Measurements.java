@@ -15,9 +15,13 @@ public class Measurements {
     }
 
     static void crate(int size) throws Exception {
+        crate(FILE, size);
+    }
+
+    static void crate(Path file, int size) throws Exception {
         List<WeatherStation> stations = stations();
         long start = System.currentTimeMillis();
-        try (BufferedWriter bw = Files.newBufferedWriter(FILE)) {
+        try (BufferedWriter bw = Files.newBufferedWriter(file)) {
             for (int i = 0; i < size; i++) {
                 if (i > 0 && i % 50_000_000 == 0) {
                     System.out.printf("Wrote %,d measurements in %s ms%n", i, System.currentTimeMillis() - start);
@@ -0,0 +1,38 @@
+package org.example;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Reads a measurement temperature straight from the file bytes into an int of tenths
+ * of a degree, without a {@code String} or {@code double} in between.
+ * <p>
+ * Only the shapes {@link Measurements} writes are supported: an optional '-', one or
+ * two integer digits, '.', and exactly one fractional digit, followed by '\n'.
+ */
+class TemperatureParser {
+
+    /**
+     * Parses the temperature starting at {@code offset}, e.g. {@code -12.3} as {@code -123}.
+     */
+    static int parse(MemorySegment seg, long offset) {
+        int negative = seg.get(ValueLayout.JAVA_BYTE, offset) == '-' ? 1 : 0;
+        offset += negative;
+        int d0 = seg.get(ValueLayout.JAVA_BYTE, offset) - '0';
+        int b1 = seg.get(ValueLayout.JAVA_BYTE, offset + 1);
+        int value = b1 == '.'
+                ? d0 * 10 + seg.get(ValueLayout.JAVA_BYTE, offset + 2) - '0'
+                : d0 * 100 + (b1 - '0') * 10 + seg.get(ValueLayout.JAVA_BYTE, offset + 3) - '0';
+        // negates without a branch when negative is 1
+        return (value ^ -negative) + negative;
+    }
+
+    /**
+     * Returns the offset just past the '\n' that ends the temperature starting at {@code offset}.
+     */
+    static long skip(MemorySegment seg, long offset) {
+        offset += seg.get(ValueLayout.JAVA_BYTE, offset) == '-' ? 1 : 0;
+        return offset + (seg.get(ValueLayout.JAVA_BYTE, offset + 1) == '.' ? 4 : 5);
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregationTest {
+
+    @Test
+    void stationTableGrowsPastInitialCapacity() {
+        var table = new Aggregation.StationTable();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 100_000; i++) {
+                byte[] name = ("station" + i).getBytes(StandardCharsets.UTF_8);
+                // a few shared hashes exercise probing across a resize
+                int hash = i % 1_000 == 0 ? 42 : Arrays.hashCode(name);
+                table.add(MemorySegment.ofArray(name), 0, name.length, hash, round == 0 ? i % 100 : -1);
+            }
+        }
+        assertEquals(100_000, table.size());
+
+        Map<String, Aggregation.Station> result = new TreeMap<>();
+        table.mergeInto(result);
+        assertEquals(100_000, result.size());
+        Aggregation.Station station = result.get("station12345");
+        assertEquals(2L, station.count);
+        assertEquals(-1, station.min);
+        assertEquals(45, station.max);
+    }
+
+    @Test
+    void agreesWithNaiveReference() throws Exception {
+        assertAgreesWithReference(20_000, 1, 2, 3, 7, 64);
+        // more chunks than lines, every cut has to move to the next line boundary
+        assertAgreesWithReference(100, 1, 7, 1_000);
+    }
+
+    private static void assertAgreesWithReference(int rows, int... chunkCounts) throws Exception {
+        Path file = Files.createTempFile("measurements", ".txt");
+        Path unterminated = Files.createTempFile("measurements", ".txt");
+        try {
+            Measurements.crate(file, rows);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(unterminated, Arrays.copyOf(bytes, bytes.length - 1));
+            Map<String, String> expected = reference(file);
+
+            for (int chunks : chunkCounts) {
+                assertEquals(expected, format(Aggregation.aggregateStations(file, chunks)), "chunks " + chunks);
+                assertEquals(expected, format(Aggregation.aggregateStations(unterminated, chunks)),
+                    "chunks " + chunks + ", no trailing newline");
+            }
+        } finally {
+            Files.delete(file);
+            Files.delete(unterminated);
+        }
+    }
+
+    // line by line with Double.parseDouble, rounding the mean half up to one decimal
+    private static Map<String, String> reference(Path file) throws Exception {
+        Map<String, List<Double>> temperatures = new TreeMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int semicolon = line.indexOf(';');
+            temperatures.computeIfAbsent(line.substring(0, semicolon), k -> new ArrayList<>())
+                .add(Double.parseDouble(line.substring(semicolon + 1)));
+        }
+        Map<String, String> result = new TreeMap<>();
+        temperatures.forEach((name, values) -> {
+            // in tenths: a double sum would drift off the .05 boundaries, and -0.0 prints as 0.0
+            long[] tenths = values.stream().mapToLong(d -> Math.round(d * 10)).toArray();
+            long min = Arrays.stream(tenths).min().orElseThrow();
+            long max = Arrays.stream(tenths).max().orElseThrow();
+            double mean = Math.round((double) Arrays.stream(tenths).sum() / tenths.length) / 10.0;
+            result.put(name, min / 10.0 + "/" + mean + "/" + max / 10.0);
+        });
+        return result;
+    }
+
+    private static Map<String, String> format(Map<String, Aggregation.Station> stations) {
+        Map<String, String> result = new TreeMap<>();
+        stations.forEach((name, station) -> result.put(name, station.toString()));
+        return result;
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemperatureParserTest {
+
+    @Test
+    void test() {
+        for (String s : new String[] { "0.0", "0.1", "-0.1", "5.5", "-9.9", "10.0", "45.6", "-12.3", "99.9", "-99.9" }) {
+            MemorySegment seg = MemorySegment.ofArray((s + "\n").getBytes(StandardCharsets.US_ASCII));
+            assertEquals(Math.round(Double.parseDouble(s) * 10), TemperatureParser.parse(seg, 0), s);
+            assertEquals(seg.byteSize(), TemperatureParser.skip(seg, 0), s);
+        }
+    }
+
+    @Test
+    void agreesWithParseDoubleOnGeneratedFile() throws Exception {
+        Path file = Files.createTempFile("measurements", ".txt");
+        try {
+            Measurements.crate(file, 1_000_000);
+            try (var arena = Arena.ofConfined();
+                 var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+                MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+                long pos = 0;
+                long rows = 0;
+                while (pos < seg.byteSize()) {
+                    while (seg.get(ValueLayout.JAVA_BYTE, pos) != ';') {
+                        pos++;
+                    }
+                    long start = ++pos;
+                    long end = start;
+                    while (seg.get(ValueLayout.JAVA_BYTE, end) != '\n') {
+                        end++;
+                    }
+                    String text = new String(seg.asSlice(start, end - start).toArray(ValueLayout.JAVA_BYTE),
+                        StandardCharsets.US_ASCII);
+
+                    assertEquals(Math.round(Double.parseDouble(text) * 10), TemperatureParser.parse(seg, start), text);
+                    pos = TemperatureParser.skip(seg, start);
+                    assertEquals(end + 1, pos, text);
+                    rows++;
+                }
+                assertEquals(1_000_000, rows);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}